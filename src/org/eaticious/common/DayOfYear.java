@@ -0,0 +1,190 @@
+package org.eaticious.common;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Helper to map dates onto the days of a year without leap day, as used by {@link Season}. A day is represented by
+ * its index starting with 0 for the 1st of January up to 364 for the 31st of December. The 29th of February is
+ * treated like the 28th of February.
+ *
+ * None of the methods allocates a {@link Calendar} except {@link #toCalendar(int, int)}.
+ */
+public final class DayOfYear {
+
+	/**
+	 * The number of days in a year without leap day
+	 */
+	public static final int DAYS = 365;
+
+	/**
+	 * The index of the first day of each month, the last entry holds the number of days
+	 */
+	private static final int[] MONTH_START = { 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, DAYS };
+
+	/**
+	 * Milliseconds per day
+	 */
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	private DayOfYear() {
+		// static methods only
+	}
+
+	/**
+	 * Returns the index of a day
+	 *
+	 * @param day
+	 *            The day of the month, starting with 1
+	 * @param month
+	 *            The month as defined by {@link Calendar}
+	 * @return The index of the day within the year
+	 * @throws IllegalArgumentException
+	 *             if day or month are out of range
+	 */
+	public static int of(final int day, final int month) throws IllegalArgumentException {
+		if (month < Calendar.JANUARY || month > Calendar.DECEMBER) {
+			throw new IllegalArgumentException("Invalid month: " + month);
+		}
+		final int length = MONTH_START[month + 1] - MONTH_START[month];
+		if (day < 1 || day > length + (month == Calendar.FEBRUARY ? 1 : 0)) {
+			throw new IllegalArgumentException("Invalid day of month: " + day);
+		}
+		return MONTH_START[month] + Math.min(day, length) - 1;
+	}
+
+	/**
+	 * Returns the index of the day of a {@link Calendar} in its own time zone
+	 *
+	 * @param cal
+	 *            The day
+	 * @return The index of the day within the year
+	 */
+	public static int of(final Calendar cal) {
+		return of(cal.get(Calendar.DATE), cal.get(Calendar.MONTH));
+	}
+
+	/**
+	 * Returns the index of the day of a {@link Date} in the default time zone
+	 *
+	 * @param date
+	 *            The day
+	 * @return The index of the day within the year
+	 */
+	public static int of(final Date date) {
+		return of(date, TimeZone.getDefault());
+	}
+
+	/**
+	 * Returns the index of the day of a {@link Date} in the given time zone
+	 *
+	 * @param date
+	 *            The day
+	 * @param zone
+	 *            The time zone the date is interpreted in
+	 * @return The index of the day within the year
+	 */
+	public static int of(final Date date, final TimeZone zone) {
+		final long millis = date.getTime();
+		return ofEpochDay(floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY));
+	}
+
+	/**
+	 * Returns the index of a day given as days since 1st of January 1970 in the proleptic gregorian calendar
+	 *
+	 * @param epochDay
+	 *            The number of days since 1st of January 1970
+	 * @return The index of the day within the year
+	 */
+	public static int ofEpochDay(final long epochDay) {
+		// civil date from days, see H. Hinnant, "chrono-Compatible Low-Level Date Algorithms"
+		final long shifted = epochDay + 719468;
+		final long era = floorDiv(shifted, 146097);
+		final int dayOfEra = (int) (shifted - era * 146097);
+		final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		// day of a year starting with 1st of March
+		final int dayOfMarchYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final int marchMonth = (5 * dayOfMarchYear + 2) / 153;
+		final int day = dayOfMarchYear - (153 * marchMonth + 2) / 5 + 1;
+		final int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+		return of(day, month);
+	}
+
+	/**
+	 * Returns the month of a day
+	 *
+	 * @param dayOfYear
+	 *            The index of the day within the year
+	 * @return The month as defined by {@link Calendar}
+	 */
+	public static int getMonth(final int dayOfYear) {
+		checkDay(dayOfYear);
+		int month = Calendar.JANUARY;
+		while (MONTH_START[month + 1] <= dayOfYear) {
+			month++;
+		}
+		return month;
+	}
+
+	/**
+	 * Returns the day of month of a day
+	 *
+	 * @param dayOfYear
+	 *            The index of the day within the year
+	 * @return The day of the month, starting with 1
+	 */
+	public static int getDayOfMonth(final int dayOfYear) {
+		return dayOfYear - MONTH_START[getMonth(dayOfYear)] + 1;
+	}
+
+	/**
+	 * Returns the index of the last day of a month
+	 *
+	 * @param month
+	 *            The month as defined by {@link Calendar}
+	 * @return The index of the last day of the month within the year
+	 */
+	public static int lastDayOf(final int month) {
+		return of(1, month) + MONTH_START[month + 1] - MONTH_START[month] - 1;
+	}
+
+	/**
+	 * Creates a {@link GregorianCalendar} set to midnight of a day
+	 *
+	 * @param dayOfYear
+	 *            The index of the day within the year
+	 * @param year
+	 *            The year of the calendar
+	 * @return The new calendar
+	 */
+	public static GregorianCalendar toCalendar(final int dayOfYear, final int year) {
+		return new GregorianCalendar(year, getMonth(dayOfYear), getDayOfMonth(dayOfYear));
+	}
+
+	/**
+	 * Checks that an index is a valid day
+	 *
+	 * @param dayOfYear
+	 *            The index to be checked
+	 * @return The index passed
+	 * @throws IllegalArgumentException
+	 *             if the index is not between 0 and 364
+	 */
+	public static int checkDay(final int dayOfYear) throws IllegalArgumentException {
+		if (dayOfYear < 0 || dayOfYear >= DAYS) {
+			throw new IllegalArgumentException("Invalid day of year: " + dayOfYear);
+		}
+		return dayOfYear;
+	}
+
+	/**
+	 * Division rounding towards negative infinity
+	 */
+	private static long floorDiv(final long dividend, final long divisor) {
+		final long quotient = dividend / divisor;
+		return (dividend % divisor != 0 && (dividend < 0) != (divisor < 0)) ? quotient - 1 : quotient;
+	}
+
+}
@@ -29,7 +29,7 @@ public class EmissionFactorImpl implements EmissionFactor {
 
 	@Override
 	public Quantity calcCO2e(Quantity reference) throws IllegalArgumentException {
-		Double amount = reference.convert(this.referencedUnit).getAmount() * this.factor;
+		double amount = reference.amountIn(this.referencedUnit) * this.factor;
 		return new QuantityImpl(amount, Unit.KG_CO2E);
 	}
 
@@ -0,0 +1,177 @@
+package org.eaticious.common;
+
+/**
+ * An immutable {@link Quantity} holding its amount as a primitive double. It is meant to be used for intermediate and
+ * final results of calculations. Quantities that need to be persisted with objectify should still use
+ * {@link QuantityImpl}.
+ */
+public final class ImmutableQuantity implements Quantity {
+
+	private static final long serialVersionUID = 4419315640243152735L;
+
+	/**
+	 * The numeric amount of this Quantity
+	 */
+	private final double amount;
+
+	/**
+	 * The unit of this Quantity
+	 */
+	private final Unit unit;
+
+	/**
+	 * Standard constructor
+	 *
+	 * @param amount
+	 *            the numeric amount
+	 * @param unit
+	 *            the unit used
+	 */
+	public ImmutableQuantity(final double amount, final Unit unit) {
+		this.amount = amount;
+		this.unit = unit;
+	}
+
+	/**
+	 * Copy constructor
+	 *
+	 * @param other
+	 *            the Quantity to be copied
+	 */
+	public ImmutableQuantity(final Quantity other) {
+		this(other.amountIn(other.getUnit()), other.getUnit());
+	}
+
+	@Override
+	public Double getAmount() {
+		return this.amount;
+	}
+
+	@Override
+	public Unit getUnit() {
+		return this.unit;
+	}
+
+	@Override
+	public double amountIn(final Unit unit) {
+		return this.unit.convertValue(this.amount, unit);
+	}
+
+	@Override
+	public ImmutableQuantity convert(final Unit unit) {
+		return new ImmutableQuantity(this.amountIn(unit), unit);
+	}
+
+	/**
+	 * Returns a new ImmutableQuantity holding the sum of this and the other Quantity in the unit of this
+	 *
+	 * @param other
+	 *            the Quantity to be added
+	 * @return the sum in the unit of this Quantity
+	 */
+	public ImmutableQuantity plus(final Quantity other) {
+		return new ImmutableQuantity(this.amount + other.amountIn(this.unit), this.unit);
+	}
+
+	/**
+	 * Returns a new ImmutableQuantity holding the difference of this and the other Quantity in the unit of this
+	 *
+	 * @param other
+	 *            the Quantity to be substracted
+	 * @return the difference in the unit of this Quantity
+	 */
+	public ImmutableQuantity minus(final Quantity other) {
+		return new ImmutableQuantity(this.amount - other.amountIn(this.unit), this.unit);
+	}
+
+	/**
+	 * Returns a new ImmutableQuantity holding the amount of this multiplied with the factor
+	 *
+	 * @param factor
+	 *            the factor to multiply with
+	 * @return the multiplied Quantity in the unit of this Quantity
+	 */
+	public ImmutableQuantity times(final double factor) {
+		return new ImmutableQuantity(this.amount * factor, this.unit);
+	}
+
+	/**
+	 * Not supported since ImmutableQuantity cannot be changed
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setAmount(final double amount) {
+		throw new UnsupportedOperationException("ImmutableQuantity cannot be changed, use QuantityImpl instead");
+	}
+
+	/**
+	 * Not supported since ImmutableQuantity cannot be changed
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setUnit(final Unit unit) {
+		throw new UnsupportedOperationException("ImmutableQuantity cannot be changed, use QuantityImpl instead");
+	}
+
+	/**
+	 * Not supported since ImmutableQuantity cannot be changed, use {@link #plus(Quantity)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void add(final Quantity add) {
+		throw new UnsupportedOperationException("ImmutableQuantity cannot be changed, use plus() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableQuantity cannot be changed, use {@link #minus(Quantity)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void substract(final Quantity sub) {
+		throw new UnsupportedOperationException("ImmutableQuantity cannot be changed, use minus() instead");
+	}
+
+	@Override
+	public boolean equals(final Object comparator) {
+		boolean result;
+		if (comparator instanceof Quantity
+				&& this.unit.getDimension() == ((Quantity) comparator).getUnit().getDimension()) {
+			result = Double.compare(this.amount, ((Quantity) comparator).amountIn(this.unit)) == 0;
+		} else {
+			result = false;
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		// equal Quantities may use different units of the same dimension, so only the dimension can be hashed
+		return this.unit.getDimension().hashCode();
+	}
+
+	@Override
+	public boolean greaterThan(final Object comparator) {
+		boolean result;
+		if (comparator instanceof Quantity
+				&& this.unit.getDimension() == ((Quantity) comparator).getUnit().getDimension()) {
+			result = this.amount > ((Quantity) comparator).amountIn(this.unit);
+		} else {
+			result = false;
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return this.amount + " " + this.unit.getAbbreviation();
+	}
+
+}
@@ -0,0 +1,357 @@
+package org.eaticious.common;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * An immutable {@link Season} stored as the index of its first day and its duration in days (see {@link DayOfYear}).
+ * Instances hold no {@link java.util.Calendar} and can be shared between threads without locking. Use the with
+ * methods to derive changed Seasons.
+ */
+public final class ImmutableSeason implements Season {
+
+	private static final long serialVersionUID = -6201427893150394372L;
+
+	/**
+	 * The year of the calendars returned by {@link #getBeginning()}
+	 */
+	private static final int REFERENCE_YEAR = 2001;
+
+	/**
+	 * The start of this Season as an index as defined by {@link DayOfYear}
+	 */
+	private final int begin;
+
+	/**
+	 * The duration of this Season in days, the Season ends duration days after begin
+	 */
+	private final int duration;
+
+	/**
+	 * The {@link SeasonType} of this Season
+	 */
+	private final SeasonType type;
+
+	/**
+	 * Constructs an ImmutableSeason from day indexes as defined by {@link DayOfYear}
+	 *
+	 * @param beginDay
+	 *            The start of the Season
+	 * @param endDay
+	 *            The end of the Season, if before beginDay the Season spans the turn of the year
+	 * @param type
+	 *            The {@link SeasonType} of this Season
+	 * @throws IllegalArgumentException
+	 *             if one of the days is not valid
+	 */
+	public ImmutableSeason(final int beginDay, final int endDay, final SeasonType type)
+			throws IllegalArgumentException {
+		this.begin = DayOfYear.checkDay(beginDay);
+		int duration = DayOfYear.checkDay(endDay) - beginDay;
+		if (duration < 0) {
+			duration += DayOfYear.DAYS;
+		}
+		this.duration = duration;
+		this.type = type;
+	}
+
+	/**
+	 * Copy constructor
+	 *
+	 * @param other
+	 *            The Season to be copied
+	 */
+	public ImmutableSeason(final Season other) {
+		this(other.getBeginDay(), other.getEndDay(), other.getSeasonType());
+	}
+
+	/**
+	 * Creates an ImmutableSeason from two days given as month and day, e.g. "--04-01" (ISO 8601), "04-01", or "1.4."
+	 *
+	 * @param begin
+	 *            The start of the Season
+	 * @param end
+	 *            The end of the Season
+	 * @param type
+	 *            The {@link SeasonType} of the Season
+	 * @return The new Season
+	 * @throws IllegalArgumentException
+	 *             if one of the days cannot be parsed
+	 */
+	public static ImmutableSeason parse(final String begin, final String end, final SeasonType type)
+			throws IllegalArgumentException {
+		return new ImmutableSeason(parseDay(begin), parseDay(end), type);
+	}
+
+	/**
+	 * Parses a day given as month and day, e.g. "--04-01" (ISO 8601), "04-01", or "1.4."
+	 *
+	 * @param text
+	 *            The day
+	 * @return The index of the day as defined by {@link DayOfYear}
+	 * @throws IllegalArgumentException
+	 *             if the text cannot be parsed
+	 */
+	public static int parseDay(final String text) throws IllegalArgumentException {
+		String trimmed = text.trim();
+		final boolean dotted = trimmed.indexOf('.') >= 0;
+		if (trimmed.startsWith("--")) {
+			trimmed = trimmed.substring(2);
+		}
+		if (dotted && trimmed.endsWith(".")) {
+			trimmed = trimmed.substring(0, trimmed.length() - 1);
+		}
+		final int separator = trimmed.indexOf(dotted ? '.' : '-');
+		if (separator <= 0) {
+			throw new IllegalArgumentException("Cannot parse day: " + text);
+		}
+		final int first = parseNumber(trimmed.substring(0, separator), text);
+		final int second = parseNumber(trimmed.substring(separator + 1), text);
+		// months are 1 based in text but 0 based in Calendar
+		return dotted ? DayOfYear.of(first, second - 1) : DayOfYear.of(second, first - 1);
+	}
+
+	/**
+	 * Parses a number of one or two digits
+	 */
+	private static int parseNumber(final String digits, final String text) {
+		if (digits.length() < 1 || digits.length() > 2) {
+			throw new IllegalArgumentException("Cannot parse day: " + text);
+		}
+		int result = 0;
+		for (int i = 0; i < digits.length(); i++) {
+			final char c = digits.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Cannot parse day: " + text);
+			}
+			result = result * 10 + c - '0';
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a copy of this Season with another start, the end is kept
+	 *
+	 * @param beginDay
+	 *            The new start as an index as defined by {@link DayOfYear}
+	 * @return The new Season
+	 */
+	public ImmutableSeason withBeginning(final int beginDay) {
+		return new ImmutableSeason(beginDay, this.getEndDay(), this.type);
+	}
+
+	/**
+	 * Returns a copy of this Season with another end
+	 *
+	 * @param endDay
+	 *            The new end as an index as defined by {@link DayOfYear}
+	 * @return The new Season
+	 */
+	public ImmutableSeason withEnd(final int endDay) {
+		return new ImmutableSeason(this.begin, endDay, this.type);
+	}
+
+	/**
+	 * Returns a copy of this Season with another {@link SeasonType}
+	 *
+	 * @param type
+	 *            The new type
+	 * @return The new Season
+	 */
+	public ImmutableSeason withSeasonType(final SeasonType type) {
+		return new ImmutableSeason(this.begin, this.getEndDay(), type);
+	}
+
+	@Override
+	public GregorianCalendar getBeginning() {
+		return DayOfYear.toCalendar(this.begin, REFERENCE_YEAR);
+	}
+
+	@Override
+	public GregorianCalendar getEnd() {
+		final int year = this.begin + this.duration < DayOfYear.DAYS ? REFERENCE_YEAR : REFERENCE_YEAR + 1;
+		return DayOfYear.toCalendar(this.getEndDay(), year);
+	}
+
+	@Override
+	public int getBeginDay() {
+		return this.begin;
+	}
+
+	@Override
+	public int getEndDay() {
+		return (this.begin + this.duration) % DayOfYear.DAYS;
+	}
+
+	@Override
+	public SeasonType getSeasonType() {
+		return this.type;
+	}
+
+	@Override
+	public boolean isInSeason(final GregorianCalendar cal) {
+		return this.isInSeason(DayOfYear.of(cal));
+	}
+
+	@Override
+	public boolean isInSeason(final Date date) {
+		return this.isInSeason(DayOfYear.of(date));
+	}
+
+	@Override
+	public boolean isInSeason(final int dayOfYear) {
+		int days = dayOfYear - this.begin;
+		if (days < 0) {
+			days += DayOfYear.DAYS;
+		}
+		return days <= this.duration;
+	}
+
+	/**
+	 * The format is locked while parsing since {@link SimpleDateFormat} is not thread safe
+	 */
+	@Override
+	public GregorianCalendar makeCalendar(final String datestring, final SimpleDateFormat format)
+			throws ParseException {
+		final Date date;
+		synchronized (format) {
+			date = format.parse(datestring);
+		}
+		final GregorianCalendar cal = new GregorianCalendar();
+		cal.setTime(date);
+		return cal;
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withBeginning(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setBeginning(final GregorianCalendar beginning) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withBeginning() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withBeginning(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setBeginning(final Date beginning) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withBeginning() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withBeginning(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setBeginning(final int day, final int month) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withBeginning() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withBeginning(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setBeginning(final int month) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withBeginning() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withEnd(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setEnd(final GregorianCalendar end) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withEnd() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withEnd(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setEnd(final Date end) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withEnd() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withEnd(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setEnd(final int day, final int month) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withEnd() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withEnd(int)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setEnd(final int month) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withEnd() instead");
+	}
+
+	/**
+	 * Not supported since ImmutableSeason cannot be changed, use {@link #withSeasonType(SeasonType)} instead
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setSeasonType(final SeasonType type) {
+		throw new UnsupportedOperationException("ImmutableSeason cannot be changed, use withSeasonType() instead");
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ImmutableSeason)) {
+			return false;
+		}
+		final ImmutableSeason other = (ImmutableSeason) obj;
+		return this.begin == other.begin && this.duration == other.duration && this.type == other.type;
+	}
+
+	@Override
+	public int hashCode() {
+		return (this.begin * 31 + this.duration) * 31 + (this.type == null ? 0 : this.type.hashCode());
+	}
+
+	@Override
+	public String toString() {
+		return "--" + pad(DayOfYear.getMonth(this.begin) + 1) + "-" + pad(DayOfYear.getDayOfMonth(this.begin)) + "/--"
+				+ pad(DayOfYear.getMonth(this.getEndDay()) + 1) + "-" + pad(DayOfYear.getDayOfMonth(this.getEndDay()))
+				+ " " + this.type;
+	}
+
+	/**
+	 * Returns a number with at least two digits
+	 */
+	private static String pad(final int number) {
+		return number < 10 ? "0" + number : String.valueOf(number);
+	}
+
+}
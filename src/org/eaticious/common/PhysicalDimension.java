@@ -2,19 +2,25 @@ package org.eaticious.common;
 
 public enum PhysicalDimension {
 
-	MASS(Unit.KILOGRAM), VOLUME(Unit.LITRE), DISTANCE(Unit.KILOMETER), ENERGY(Unit.KILOWATTHOUR), OTHER(Unit.NONE), WARMING_POTENTIAL(Unit.CO2E), CO2E(Unit.KG_CO2E);
+	MASS("KILOGRAM"), VOLUME("LITRE"), DISTANCE("KILOMETER"), ENERGY("KILOWATTHOUR"), OTHER("NONE"), WARMING_POTENTIAL("CO2E"), CO2E("KG_CO2E");
 	
 	/**
-	 * The standard Unit for this PhysicalDimension of this
+	 * The name of the standard Unit for this PhysicalDimension. Unit and PhysicalDimension reference each other, so
+	 * the Unit itself cannot be passed to the constructor: it would still be null when Unit is initialized first.
+	 */
+	private final String baseUnitName;
+	
+	/**
+	 * The standard Unit for this PhysicalDimension of this, resolved on first use
 	 */
 	private Unit baseUnit;
 	
 	/**
 	 * 
-	 * @param baseunit The standard Unit for the PhysicalDimension to be constructed
+	 * @param baseUnitName The name of the standard Unit for the PhysicalDimension to be constructed
 	 */
-	private PhysicalDimension(final Unit baseunit){
-		this.baseUnit = baseunit;
+	private PhysicalDimension(final String baseUnitName){
+		this.baseUnitName = baseUnitName;
 	}
 	
 	/**
@@ -22,6 +28,9 @@ public enum PhysicalDimension {
 	 * @return the standard Unit of this PhysicalDimension
 	 */
 	public Unit getBaseUnit(){
+		if (this.baseUnit == null) {
+			this.baseUnit = Unit.valueOf(this.baseUnitName);
+		}
 		return this.baseUnit;
 	}
 }
@@ -0,0 +1,156 @@
+package org.eaticious.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts amounts of a {@link FoodProduct} into kilogram, including units a plain {@link Unit} conversion refuses:
+ * volumes are converted using {@link FoodProduct#getDensity()} (kg per litre), {@link Unit#PIECE} and
+ * {@link Unit#SLICE} using {@link FoodProduct#getStdWeight()}.
+ *
+ * For each product a table holding kilogram per unit for every {@link Unit} is computed once and cached, so a
+ * conversion is a single multiplication. The cache may be shared between threads.
+ *
+ * Products are cached by their equals and hashCode. FoodProduct does not define them, so most implementations are
+ * cached by identity: pass the same instance for the same product, e.g. from a product catalog, and not a fresh
+ * instance per call, or the cache grows with every call. The cache is never evicted by itself, its owner calls
+ * {@link #invalidate(FoodProduct)} when a density or standard weight changes and {@link #clear()} when products are
+ * reloaded.
+ */
+public class ProductMassConverter {
+
+	/**
+	 * Kilogram per unit for each product, indexed by {@link Unit#ordinal()}, NaN if a unit cannot be converted
+	 */
+	private final Map<FoodProduct, double[]> factors = new ConcurrentHashMap<FoodProduct, double[]>();
+
+	/**
+	 * Converts an amount of a product into kilogram
+	 *
+	 * @param product
+	 *            The product measured
+	 * @param amount
+	 *            The amount of the product
+	 * @param unit
+	 *            The unit of the amount
+	 * @return The mass in kilogram
+	 * @throws IllegalArgumentException
+	 *             if the unit cannot be converted for this product, e.g. a volume for a product without density
+	 */
+	public double toKilogram(final FoodProduct product, final double amount, final Unit unit)
+			throws IllegalArgumentException {
+		final double factor = this.getFactors(product)[unit.ordinal()];
+		if (Double.isNaN(factor)) {
+			throw new IllegalArgumentException("Cannot convert " + unit + " into " + Unit.KILOGRAM + " for "
+					+ product.getName(Language.EN) + ", density or standard weight is unknown.");
+		}
+		return amount * factor;
+	}
+
+	/**
+	 * Converts an amount of a product into kilogram
+	 *
+	 * @param product
+	 *            The product measured
+	 * @param amount
+	 *            The amount of the product
+	 * @return The mass in kilogram
+	 * @throws IllegalArgumentException
+	 *             if the unit cannot be converted for this product, e.g. a volume for a product without density
+	 */
+	public double toKilogram(final FoodProduct product, final Quantity amount) throws IllegalArgumentException {
+		return this.toKilogram(product, amount.getAmount(), amount.getUnit());
+	}
+
+	/**
+	 * Converts an amount of a product into a mass
+	 *
+	 * @param product
+	 *            The product measured
+	 * @param amount
+	 *            The amount of the product
+	 * @return The mass as a {@link Quantity} in {@link Unit#KILOGRAM}
+	 * @throws IllegalArgumentException
+	 *             if the unit cannot be converted for this product, e.g. a volume for a product without density
+	 */
+	public Quantity toMass(final FoodProduct product, final Quantity amount) throws IllegalArgumentException {
+		return new ImmutableQuantity(this.toKilogram(product, amount), Unit.KILOGRAM);
+	}
+
+	/**
+	 * Returns true if amounts of the given unit can be converted into kilogram for the product
+	 *
+	 * @param product
+	 *            The product measured
+	 * @param unit
+	 *            The unit of the amount
+	 * @return true if the unit can be converted, false otherwise
+	 */
+	public boolean isConvertable(final FoodProduct product, final Unit unit) {
+		return !Double.isNaN(this.getFactors(product)[unit.ordinal()]);
+	}
+
+	/**
+	 * Removes the cached factors of a product, needed after its density or standard weight changed
+	 *
+	 * @param product
+	 *            The product whose factors will be computed again on next use
+	 */
+	public void invalidate(final FoodProduct product) {
+		this.factors.remove(product);
+	}
+
+	/**
+	 * Removes all cached factors
+	 */
+	public void clear() {
+		this.factors.clear();
+	}
+
+	/**
+	 * Returns the cached factors of the product, computing them if necessary
+	 *
+	 * @param product
+	 *            The product
+	 * @return kilogram per unit for each unit indexed by ordinal
+	 */
+	private double[] getFactors(final FoodProduct product) {
+		double[] result = this.factors.get(product);
+		if (result == null) {
+			// computing twice in a race does no harm, both results are equal
+			result = computeFactors(product);
+			this.factors.put(product, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes kilogram per unit for each unit
+	 *
+	 * @param product
+	 *            The product
+	 * @return kilogram per unit for each unit indexed by ordinal, NaN if a unit cannot be converted
+	 */
+	private static double[] computeFactors(final FoodProduct product) {
+		final Double density = product.getDensity();
+		final Quantity stdWeight = product.getStdWeight();
+		final boolean hasDensity = density != null && density > 0;
+		final boolean hasStdWeight = stdWeight != null && stdWeight.getUnit().isConvertable(Unit.KILOGRAM);
+
+		final Unit[] units = Unit.values();
+		final double[] result = new double[units.length];
+		for (final Unit unit : units) {
+			double factor = Double.NaN;
+			if (unit.isConvertable(Unit.KILOGRAM)) {
+				factor = unit.convertValue(1d, Unit.KILOGRAM);
+			} else if (hasDensity && unit.isConvertable(Unit.LITRE)) {
+				factor = unit.convertValue(1d, Unit.LITRE) * density;
+			} else if (hasStdWeight && (unit == Unit.PIECE || unit == Unit.SLICE)) {
+				factor = stdWeight.amountIn(Unit.KILOGRAM);
+			}
+			result[unit.ordinal()] = factor;
+		}
+		return result;
+	}
+
+}
@@ -35,6 +35,15 @@ public interface Quantity extends Serializable {
 	 */
 	Quantity convert(Unit unit) throws IllegalArgumentException;
 	
+	/**
+	 * Returns the amount of this Quantity expressed in the given unit without creating a new Quantity
+	 * 
+	 * @param unit The unit the amount should be expressed in
+	 * @return the numeric amount in the given unit
+	 * @throws IllegalArgumentException if the unit is not convertable into the unit of this Quantity
+	 */
+	double amountIn(Unit unit) throws IllegalArgumentException;
+	
 	/**
 	 * 
 	 * @param comparator
@@ -0,0 +1,296 @@
+package org.eaticious.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of {@link Quantity} values, meant for caches and RPC payloads where default Java
+ * serialization needs more than 100 bytes per Quantity.
+ *
+ * A Quantity is written as one byte holding the ordinal of its {@link Unit} followed by the amount. If the amount can
+ * be represented as float without loss the highest bit of the unit byte is set and 4 bytes are written, otherwise 8
+ * bytes. A null Quantity is written as a single byte. Lengths of arrays and vectors are written as unsigned varints.
+ * Decoding always results in {@link ImmutableQuantity} instances.
+ */
+public final class QuantityCodec {
+
+	/**
+	 * Marks a null Quantity
+	 */
+	private static final int NULL = 0x7F;
+
+	/**
+	 * Set in the unit byte if the amount is written as float
+	 */
+	private static final int FLOAT_FLAG = 0x80;
+
+	/**
+	 * Mask to extract the unit ordinal out of the unit byte
+	 */
+	private static final int UNIT_MASK = 0x7F;
+
+	/**
+	 * The number of units, ordinals at or above are invalid
+	 */
+	private static final int UNIT_COUNT = Unit.values().length;
+
+	private QuantityCodec() {
+		// static methods only
+	}
+
+	/**
+	 * Writes a Quantity using 1, 5 or 9 bytes
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param quantity
+	 *            The Quantity to be written, may be null
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeQuantity(final DataOutput out, final Quantity quantity) throws IOException {
+		if (quantity == null) {
+			out.writeByte(NULL);
+		} else {
+			writeAmount(out, quantity.getAmount(), quantity.getUnit());
+		}
+	}
+
+	/**
+	 * Writes an amount using 5 or 9 bytes
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param amount
+	 *            The amount to be written
+	 * @param unit
+	 *            The unit of the amount
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeAmount(final DataOutput out, final double amount, final Unit unit) throws IOException {
+		final float compact = (float) amount;
+		if (compact == amount || Double.isNaN(amount)) {
+			out.writeByte(unit.ordinal() | FLOAT_FLAG);
+			out.writeFloat(compact);
+		} else {
+			out.writeByte(unit.ordinal());
+			out.writeDouble(amount);
+		}
+	}
+
+	/**
+	 * Writes a Quantity using 1 or 5 bytes, the amount is rounded to float precision
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param quantity
+	 *            The Quantity to be written, may be null
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeQuantityAsFloat(final DataOutput out, final Quantity quantity) throws IOException {
+		if (quantity == null) {
+			out.writeByte(NULL);
+		} else {
+			out.writeByte(quantity.getUnit().ordinal() | FLOAT_FLAG);
+			out.writeFloat(quantity.getAmount().floatValue());
+		}
+	}
+
+	/**
+	 * Reads a Quantity written by {@link #writeQuantity(DataOutput, Quantity)} or
+	 * {@link #writeQuantityAsFloat(DataOutput, Quantity)}
+	 *
+	 * @param in
+	 *            The input to read from
+	 * @return The Quantity read, null if a null Quantity was written
+	 * @throws IOException
+	 *             if reading fails or the data is corrupt
+	 */
+	public static Quantity readQuantity(final DataInput in) throws IOException {
+		final int header = in.readUnsignedByte();
+		if (header == NULL) {
+			return null;
+		}
+		final Unit unit = toUnit(header);
+		final double amount = (header & FLOAT_FLAG) != 0 ? in.readFloat() : in.readDouble();
+		return new ImmutableQuantity(amount, unit);
+	}
+
+	/**
+	 * Writes an array of Quantities, the array itself must not be null but may contain null values
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param quantities
+	 *            The Quantities to be written
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeQuantities(final DataOutput out, final Quantity[] quantities) throws IOException {
+		writeVarInt(out, quantities.length);
+		for (final Quantity quantity : quantities) {
+			writeQuantity(out, quantity);
+		}
+	}
+
+	/**
+	 * Reads an array of Quantities written by {@link #writeQuantities(DataOutput, Quantity[])}
+	 *
+	 * @param in
+	 *            The input to read from
+	 * @return The Quantities read
+	 * @throws IOException
+	 *             if reading fails or the data is corrupt
+	 */
+	public static Quantity[] readQuantities(final DataInput in) throws IOException {
+		final Quantity[] result = new Quantity[readVarInt(in)];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = readQuantity(in);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes all entries of a {@link QuantityVector}
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param vector
+	 *            The vector to be written
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public static void writeVector(final DataOutput out, final QuantityVector vector) throws IOException {
+		final int size = vector.size();
+		writeVarInt(out, size);
+		for (int i = 0; i < size; i++) {
+			writeAmount(out, vector.getAmount(i), vector.getUnit(i));
+		}
+	}
+
+	/**
+	 * Reads a {@link QuantityVector} written by {@link #writeVector(DataOutput, QuantityVector)}
+	 *
+	 * @param in
+	 *            The input to read from
+	 * @return The vector read
+	 * @throws IOException
+	 *             if reading fails or the data is corrupt
+	 */
+	public static QuantityVector readVector(final DataInput in) throws IOException {
+		final int size = readVarInt(in);
+		final QuantityVector result = new QuantityVector(size);
+		for (int i = 0; i < size; i++) {
+			final int header = in.readUnsignedByte();
+			if (header == NULL) {
+				throw new IOException("Unexpected null entry at index " + i);
+			}
+			final Unit unit = toUnit(header);
+			result.add((header & FLOAT_FLAG) != 0 ? in.readFloat() : in.readDouble(), unit);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes a non negative int using 1 to 5 bytes, 7 bits per byte with the highest bit marking a following byte
+	 *
+	 * @param out
+	 *            The output to write to
+	 * @param value
+	 *            The value to be written
+	 * @throws IOException
+	 *             if writing fails
+	 * @throws IllegalArgumentException
+	 *             if the value is negative
+	 */
+	public static void writeVarInt(final DataOutput out, final int value) throws IOException,
+			IllegalArgumentException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative values are not supported: " + value);
+		}
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			out.writeByte((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.writeByte(remaining);
+	}
+
+	/**
+	 * Reads an int written by {@link #writeVarInt(DataOutput, int)}
+	 *
+	 * @param in
+	 *            The input to read from
+	 * @return The value read
+	 * @throws IOException
+	 *             if reading fails or the data is corrupt
+	 */
+	public static int readVarInt(final DataInput in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final int b = in.readUnsignedByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (result < 0) {
+					throw new IOException("Malformed varint");
+				}
+				return result;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	/**
+	 * Encodes a single Quantity
+	 *
+	 * @param quantity
+	 *            The Quantity to be encoded, may be null
+	 * @return The encoded Quantity
+	 */
+	public static byte[] toBytes(final Quantity quantity) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+		try {
+			writeQuantity(new DataOutputStream(bytes), quantity);
+		} catch (IOException e) {
+			// cannot happen when writing to memory
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a single Quantity encoded by {@link #toBytes(Quantity)}
+	 *
+	 * @param bytes
+	 *            The encoded Quantity
+	 * @return The decoded Quantity, may be null
+	 * @throws IllegalArgumentException
+	 *             if the bytes do not hold a valid Quantity
+	 */
+	public static Quantity fromBytes(final byte[] bytes) throws IllegalArgumentException {
+		try {
+			return readQuantity(new DataInputStream(new ByteArrayInputStream(bytes)));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Not a valid encoded Quantity", e);
+		}
+	}
+
+	/**
+	 * Returns the Unit encoded in the header byte
+	 */
+	private static Unit toUnit(final int header) throws IOException {
+		final int ordinal = header & UNIT_MASK;
+		if (ordinal >= UNIT_COUNT) {
+			throw new IOException("Unknown unit ordinal " + ordinal);
+		}
+		return Unit.fromOrdinal(ordinal);
+	}
+
+}
@@ -38,7 +38,12 @@ public class QuantityImpl implements Quantity {
 
 	@Override
 	public Quantity convert(final Unit unit) {
-		return new QuantityImpl(this.unit.convert(this.getAmount(), unit), unit);
+		return new QuantityImpl(this.amountIn(unit), unit);
+	}
+
+	@Override
+	public double amountIn(final Unit unit) {
+		return this.unit.convertValue(this.amount, unit);
 	}
 
 	@Override
@@ -55,8 +60,8 @@ public class QuantityImpl implements Quantity {
 	public boolean equals(Object comparator){
 		boolean result;
 		if(comparator instanceof Quantity && this.getUnit().getDimension() == ((Quantity)comparator).getUnit().getDimension()){
-			Double amountToCompare = ((Quantity)comparator).convert(this.getUnit()).getAmount();
-			result = this.getAmount().equals(amountToCompare);
+			final double amountToCompare = ((Quantity)comparator).amountIn(this.getUnit());
+			result = Double.compare(this.amount, amountToCompare) == 0;
 		} else {
 			result = false;
 		}
@@ -68,8 +73,8 @@ public class QuantityImpl implements Quantity {
 	public boolean greaterThan(Object comparator) {
 		boolean result;
 		if(comparator instanceof Quantity && this.getUnit().getDimension() == ((Quantity)comparator).getUnit().getDimension()){
-			Double amountToCompare = ((Quantity)comparator).convert(this.getUnit()).getAmount();
-			result = this.getAmount() > amountToCompare;
+			final double amountToCompare = ((Quantity)comparator).amountIn(this.getUnit());
+			result = this.amount > amountToCompare;
 		} else {
 			result = false;
 		}
@@ -78,13 +83,13 @@ public class QuantityImpl implements Quantity {
 
 	@Override
 	public void add(Quantity add) {
-		this.setAmount(this.getAmount() + add.convert(this.getUnit()).getAmount());
+		this.setAmount(this.amount + add.amountIn(this.unit));
 		
 	}
 
 	@Override
 	public void substract(Quantity sub) {
-		this.setAmount(this.getAmount() - sub.convert(this.getUnit()).getAmount());
+		this.setAmount(this.amount - sub.amountIn(this.unit));
 		
 	}
 
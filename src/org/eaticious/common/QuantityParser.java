@@ -0,0 +1,284 @@
+package org.eaticious.common;
+
+/**
+ * Parses amounts as used in recipes, e.g. "250 g", "2 EL", "1,5 l" or "1/2 cup", into {@link Quantity} objects.
+ *
+ * Units are looked up in a trie over the (case insensitive) abbreviations of all {@link Unit}s, which is built once.
+ * Some abbreviations are used for a liquid and a dry measure (gal, cup, gill, EL, TL). These are resolved using the
+ * density of the product if it is known: products with a density below {@link #DRY_DENSITY_THRESHOLD} are measured
+ * with the dry unit, everything else with the liquid unit.
+ *
+ * Numbers are parsed by hand without regular expressions or splitting of the text.
+ */
+public final class QuantityParser {
+
+	/**
+	 * The density in kg per litre below which an ambiguous unit is interpreted as a dry measure. Typical dry goods
+	 * like flour, sugar or rice are well below, water, milk and oil are above.
+	 */
+	public static final double DRY_DENSITY_THRESHOLD = 0.9;
+
+	/**
+	 * Powers of ten that are exactly representable as a double, used to scale parsed decimals
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15 };
+
+	/**
+	 * The maximum number of digits that is parsed into a long without loss
+	 */
+	private static final int MAX_DIGITS = 18;
+
+	/**
+	 * The maximum number of digits of an amount scaled with {@link #POWERS_OF_TEN}. Up to 15 digits the mantissa is
+	 * below 2^53 and exact as a double, so the single division is correctly rounded like {@link Double#parseDouble}.
+	 */
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	/**
+	 * The root of the abbreviation trie
+	 */
+	private static final Node ROOT = new Node();
+
+	static {
+		for (final Unit unit : Unit.values()) {
+			final String abbreviation = unit.getAbbreviation();
+			Node node = ROOT;
+			for (int i = 0; i < abbreviation.length(); i++) {
+				node = node.getOrAddChild(Character.toLowerCase(abbreviation.charAt(i)));
+			}
+			if (node.unit == null) {
+				node.unit = unit;
+			} else if (node.dryUnit == null && unit.name().endsWith("_DRY")) {
+				node.dryUnit = unit;
+			}
+		}
+	}
+
+	/**
+	 * A node of the abbreviation trie
+	 */
+	private static final class Node {
+		/**
+		 * The characters leading to the children of this node
+		 */
+		private char[] keys = new char[0];
+		/**
+		 * The children of this node, parallel to keys
+		 */
+		private Node[] children = new Node[0];
+		/**
+		 * The unit whose abbreviation ends at this node, the liquid one for ambiguous abbreviations
+		 */
+		private Unit unit;
+		/**
+		 * The dry unit for ambiguous abbreviations ending at this node, null otherwise
+		 */
+		private Unit dryUnit;
+
+		/**
+		 * Returns the child reached by the given character or null
+		 *
+		 * @param key
+		 *            the lower case character
+		 * @return the child node or null if there is none
+		 */
+		private Node getChild(final char key) {
+			for (int i = 0; i < this.keys.length; i++) {
+				if (this.keys[i] == key) {
+					return this.children[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the child reached by the given character, adds it if necessary. Only used while building the trie.
+		 *
+		 * @param key
+		 *            the lower case character
+		 * @return the child node
+		 */
+		private Node getOrAddChild(final char key) {
+			Node child = this.getChild(key);
+			if (child == null) {
+				final int length = this.keys.length;
+				final char[] keys = new char[length + 1];
+				final Node[] children = new Node[length + 1];
+				System.arraycopy(this.keys, 0, keys, 0, length);
+				System.arraycopy(this.children, 0, children, 0, length);
+				child = new Node();
+				keys[length] = key;
+				children[length] = child;
+				this.keys = keys;
+				this.children = children;
+			}
+			return child;
+		}
+	}
+
+	private QuantityParser() {
+		/* only static methods */
+	}
+
+	/**
+	 * Parses a text like "250 g" into a {@link Quantity}, ambiguous units are interpreted as liquid measures
+	 *
+	 * @param text
+	 *            the text holding a number optionally followed by the abbreviation of a unit
+	 * @return the parsed Quantity, using {@link Unit#NONE} if no unit is given
+	 * @throws IllegalArgumentException
+	 *             if the text cannot be parsed
+	 */
+	public static Quantity parse(final String text) throws IllegalArgumentException {
+		return parse(text, (Double) null);
+	}
+
+	/**
+	 * Parses a text like "2 EL" into a {@link Quantity}, using the density of the product to resolve ambiguous units
+	 *
+	 * @param text
+	 *            the text holding a number optionally followed by the abbreviation of a unit
+	 * @param product
+	 *            the product measured, may be null
+	 * @return the parsed Quantity, using {@link Unit#NONE} if no unit is given
+	 * @throws IllegalArgumentException
+	 *             if the text cannot be parsed
+	 */
+	public static Quantity parse(final String text, final FoodProduct product) throws IllegalArgumentException {
+		return parse(text, product == null ? null : product.getDensity());
+	}
+
+	/**
+	 * Parses a text like "2 EL" into a {@link Quantity}, using the density to resolve ambiguous units
+	 *
+	 * @param text
+	 *            the text holding a number optionally followed by the abbreviation of a unit
+	 * @param density
+	 *            the density in kg per litre of the product measured, may be null if unknown
+	 * @return the parsed Quantity, using {@link Unit#NONE} if no unit is given
+	 * @throws IllegalArgumentException
+	 *             if the text cannot be parsed
+	 */
+	public static Quantity parse(final String text, final Double density) throws IllegalArgumentException {
+		final int length = text.length();
+		int pos = skipWhitespace(text, 0, length);
+
+		// integer part
+		final int numberStart = pos;
+		long mantissa = 0L;
+		int digits = 0;
+		int decimals = 0;
+		while (pos < length && isDigit(text.charAt(pos))) {
+			mantissa = mantissa * 10 + (text.charAt(pos) - '0');
+			digits++;
+			pos++;
+		}
+		// decimal part, accepting '.' as well as ','
+		if (pos < length && (text.charAt(pos) == '.' || text.charAt(pos) == ',')) {
+			pos++;
+			while (pos < length && isDigit(text.charAt(pos))) {
+				mantissa = mantissa * 10 + (text.charAt(pos) - '0');
+				digits++;
+				decimals++;
+				pos++;
+			}
+		}
+		if (digits == 0) {
+			throw new IllegalArgumentException("No amount found in \"" + text + "\"");
+		}
+		double amount;
+		if (digits > MAX_EXACT_DIGITS) {
+			// rare case, too long to be scaled without a second rounding
+			amount = Double.parseDouble(text.substring(numberStart, pos).replace(',', '.'));
+		} else {
+			amount = mantissa / POWERS_OF_TEN[decimals];
+		}
+		// simple fraction like 1/2
+		if (pos < length && text.charAt(pos) == '/' && decimals == 0) {
+			pos++;
+			long denominator = 0L;
+			int denominatorDigits = 0;
+			while (pos < length && isDigit(text.charAt(pos)) && denominatorDigits < MAX_DIGITS) {
+				denominator = denominator * 10 + (text.charAt(pos) - '0');
+				denominatorDigits++;
+				pos++;
+			}
+			if (denominator == 0L) {
+				throw new IllegalArgumentException("Invalid fraction in \"" + text + "\"");
+			}
+			amount /= denominator;
+		}
+
+		pos = skipWhitespace(text, pos, length);
+		int end = length;
+		while (end > pos && Character.isWhitespace(text.charAt(end - 1))) {
+			end--;
+		}
+		final Unit unit = findUnit(text, pos, end, density);
+		if (unit == null) {
+			throw new IllegalArgumentException("Unknown unit \"" + text.substring(pos, end) + "\" in \"" + text + "\"");
+		}
+		return new QuantityImpl(amount, unit);
+	}
+
+	/**
+	 * Returns the {@link Unit} having the given abbreviation (case insensitive)
+	 *
+	 * @param abbreviation
+	 *            The abbreviation of the unit
+	 * @param density
+	 *            the density in kg per litre of the product measured, may be null if unknown
+	 * @return The Unit or null if no unit has this abbreviation
+	 */
+	public static Unit parseUnit(final String abbreviation, final Double density) {
+		return findUnit(abbreviation, 0, abbreviation.length(), density);
+	}
+
+	/**
+	 * Looks up the unit for the abbreviation between start and end
+	 *
+	 * @param text
+	 *            The text holding the abbreviation
+	 * @param start
+	 *            The index of the first character of the abbreviation
+	 * @param end
+	 *            The index after the last character of the abbreviation
+	 * @param density
+	 *            the density in kg per litre of the product measured, may be null if unknown
+	 * @return The Unit or null if no unit has this abbreviation
+	 */
+	private static Unit findUnit(final CharSequence text, final int start, final int end, final Double density) {
+		Node node = ROOT;
+		for (int i = start; i < end && node != null; i++) {
+			node = node.getChild(Character.toLowerCase(text.charAt(i)));
+		}
+		Unit result = null;
+		if (node != null) {
+			if (node.dryUnit != null && density != null && density < DRY_DENSITY_THRESHOLD) {
+				result = node.dryUnit;
+			} else {
+				result = node.unit;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first character at or after pos that is not a whitespace
+	 */
+	private static int skipWhitespace(final String text, int pos, final int length) {
+		while (pos < length && Character.isWhitespace(text.charAt(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Returns true for the ASCII digits 0 to 9
+	 */
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+}
@@ -0,0 +1,312 @@
+package org.eaticious.common;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A growable, column oriented collection of amounts. Instead of one {@link Quantity} object per value the amounts are
+ * stored in a double[] and their units as ordinals in a parallel byte[], which needs about 9 bytes per entry. Meant as
+ * storage for batch calculations over many amounts, e.g. all ingredients of a set of recipes.
+ *
+ * Instances are not thread safe.
+ */
+public class QuantityVector implements Serializable {
+
+	private static final long serialVersionUID = -2707719473829047741L;
+
+	/**
+	 * The default capacity of a new QuantityVector
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The amounts, only the first size entries are used
+	 */
+	private double[] amounts;
+
+	/**
+	 * The ordinals of the units of the amounts, parallel to amounts
+	 */
+	private byte[] units;
+
+	/**
+	 * The number of entries used
+	 */
+	private int size;
+
+	/**
+	 * Constructs an empty QuantityVector
+	 */
+	public QuantityVector() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty QuantityVector
+	 *
+	 * @param capacity
+	 *            The number of entries that can be added before the arrays have to grow
+	 */
+	public QuantityVector(final int capacity) {
+		this.amounts = new double[capacity];
+		this.units = new byte[capacity];
+	}
+
+	/**
+	 * Constructs a QuantityVector holding the given quantities in the order of iteration
+	 *
+	 * @param quantities
+	 *            The quantities to be copied into the new QuantityVector
+	 */
+	public QuantityVector(final Collection<? extends Quantity> quantities) {
+		this(quantities.size());
+		for (final Quantity quantity : quantities) {
+			this.add(quantity);
+		}
+	}
+
+	/**
+	 * Returns the number of entries
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Appends an amount
+	 *
+	 * @param amount
+	 *            The amount to be added
+	 * @param unit
+	 *            The unit of the amount
+	 */
+	public void add(final double amount, final Unit unit) {
+		if (this.size == this.amounts.length) {
+			final int capacity = Math.max(DEFAULT_CAPACITY, this.size * 2);
+			this.amounts = Arrays.copyOf(this.amounts, capacity);
+			this.units = Arrays.copyOf(this.units, capacity);
+		}
+		this.amounts[this.size] = amount;
+		this.units[this.size] = (byte) unit.ordinal();
+		this.size++;
+	}
+
+	/**
+	 * Appends a Quantity
+	 *
+	 * @param quantity
+	 *            The Quantity to be added
+	 */
+	public void add(final Quantity quantity) {
+		this.add(quantity.amountIn(quantity.getUnit()), quantity.getUnit());
+	}
+
+	/**
+	 * Replaces an entry
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @param amount
+	 *            The new amount
+	 * @param unit
+	 *            The unit of the new amount
+	 */
+	public void set(final int index, final double amount, final Unit unit) {
+		this.checkIndex(index);
+		this.amounts[index] = amount;
+		this.units[index] = (byte) unit.ordinal();
+	}
+
+	/**
+	 * Returns the amount of an entry in its own unit
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @return The amount of the entry
+	 */
+	public double getAmount(final int index) {
+		this.checkIndex(index);
+		return this.amounts[index];
+	}
+
+	/**
+	 * Returns the amount of an entry converted into the given unit
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @param unit
+	 *            The unit to convert to
+	 * @return The amount of the entry in the given unit
+	 * @throws IllegalArgumentException
+	 *             if the unit of the entry cannot be converted into the given unit
+	 */
+	public double getAmount(final int index, final Unit unit) throws IllegalArgumentException {
+		return this.getUnit(index).convertValue(this.amounts[index], unit);
+	}
+
+	/**
+	 * Returns the unit of an entry
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @return The unit of the entry
+	 */
+	public Unit getUnit(final int index) {
+		this.checkIndex(index);
+		return Unit.fromOrdinal(this.units[index]);
+	}
+
+	/**
+	 * Returns an entry as a new {@link Quantity}
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @return The entry as an {@link ImmutableQuantity}
+	 */
+	public Quantity get(final int index) {
+		return new ImmutableQuantity(this.getAmount(index), this.getUnit(index));
+	}
+
+	/**
+	 * Returns the sum of all amounts
+	 *
+	 * @param unit
+	 *            The unit of the sum
+	 * @return The sum of all amounts in the given unit
+	 * @throws IllegalArgumentException
+	 *             if one of the entries cannot be converted into the given unit
+	 */
+	public double sum(final Unit unit) throws IllegalArgumentException {
+		double result = 0d;
+		for (int i = 0; i < this.size; i++) {
+			result += Unit.fromOrdinal(this.units[i]).convertValue(this.amounts[i], unit);
+		}
+		return result;
+	}
+
+	/**
+	 * Multiplies all amounts with a factor
+	 *
+	 * @param factor
+	 *            The factor to multiply with
+	 */
+	public void scale(final double factor) {
+		final double[] amounts = this.amounts;
+		for (int i = 0; i < this.size; i++) {
+			amounts[i] *= factor;
+		}
+	}
+
+	/**
+	 * Converts all entries into the given unit. Nothing is changed if one of the entries cannot be converted.
+	 *
+	 * @param unit
+	 *            The unit to convert to
+	 * @throws IllegalArgumentException
+	 *             if one of the entries cannot be converted into the given unit
+	 */
+	public void convert(final Unit unit) throws IllegalArgumentException {
+		// convertAll checks all units before writing, a failing call leaves the vector unchanged
+		Unit.convertAll(this.amounts, this.units, 0, this.size, unit, this.amounts);
+		Arrays.fill(this.units, 0, this.size, (byte) unit.ordinal());
+	}
+
+	/**
+	 * Converts each entry into the base unit of its {@link PhysicalDimension}. Entries of dimension OTHER are not
+	 * changed.
+	 */
+	public void normalize() {
+		for (int i = 0; i < this.size; i++) {
+			final Unit unit = Unit.fromOrdinal(this.units[i]);
+			final Unit baseUnit = unit.getDimension().getBaseUnit();
+			if (unit != baseUnit && unit.isConvertable(baseUnit)) {
+				this.amounts[i] = unit.convertValue(this.amounts[i], baseUnit);
+				this.units[i] = (byte) baseUnit.ordinal();
+			}
+		}
+	}
+
+	/**
+	 * Returns the dot product of the amounts in the given unit and a vector of factors, e.g. the total CO2e of a list
+	 * of ingredients in kg and their emission factors in kg CO2e per kg
+	 *
+	 * @param unit
+	 *            The unit the amounts are converted into
+	 * @param factors
+	 *            The factors, one per entry
+	 * @return The sum of the products of amount and factor
+	 * @throws IllegalArgumentException
+	 *             if one of the entries cannot be converted into the given unit or the number of factors does not
+	 *             match the size of this vector
+	 */
+	public double dot(final Unit unit, final double[] factors) throws IllegalArgumentException {
+		if (factors.length != this.size) {
+			throw new IllegalArgumentException("Expected " + this.size + " factors, got " + factors.length);
+		}
+		double result = 0d;
+		for (int i = 0; i < this.size; i++) {
+			result += Unit.fromOrdinal(this.units[i]).convertValue(this.amounts[i], unit) * factors[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the dot product of this and another QuantityVector of the same size
+	 *
+	 * @param unit
+	 *            The unit the amounts of this vector are converted into
+	 * @param other
+	 *            The other vector
+	 * @param otherUnit
+	 *            The unit the amounts of the other vector are converted into
+	 * @return The sum of the products of the amounts at the same index
+	 * @throws IllegalArgumentException
+	 *             if one of the entries cannot be converted or the sizes of the vectors do not match
+	 */
+	public double dot(final Unit unit, final QuantityVector other, final Unit otherUnit)
+			throws IllegalArgumentException {
+		if (other.size != this.size) {
+			throw new IllegalArgumentException("Expected a vector of size " + this.size + ", got " + other.size);
+		}
+		double result = 0d;
+		for (int i = 0; i < this.size; i++) {
+			result += Unit.fromOrdinal(this.units[i]).convertValue(this.amounts[i], unit)
+					* Unit.fromOrdinal(other.units[i]).convertValue(other.amounts[i], otherUnit);
+		}
+		return result;
+	}
+
+	/**
+	 * Copies the amounts converted into the given unit into an array
+	 *
+	 * @param unit
+	 *            The unit to convert to
+	 * @param dst
+	 *            The array receiving the amounts, has to hold at least {@link #size()} values
+	 * @throws IllegalArgumentException
+	 *             if one of the entries cannot be converted into the given unit
+	 */
+	public void getAmounts(final Unit unit, final double[] dst) throws IllegalArgumentException {
+		Unit.convertAll(this.amounts, this.units, 0, this.size, unit, dst);
+	}
+
+	/**
+	 * Removes all entries, the capacity is kept
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Throws an IndexOutOfBoundsException if the index is not used
+	 */
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+	}
+
+}
@@ -92,6 +92,23 @@ public interface Season extends Serializable {
 	 * @return true if the {@link Date} is within the Season's boundaries
 	 */
 	boolean isInSeason(Date date);
+	/**
+	 * Returns true if the day is within the Season's boundaries
+	 * This is the fast path of the other isInSeason methods and does not need any {@link Calendar}
+	 * @param dayOfYear The day to be checked as an index as defined by {@link DayOfYear}
+	 * @return true if the day is within the Season's boundaries
+	 */
+	boolean isInSeason(int dayOfYear);
+	/**
+	 * Returns the start of the Season
+	 * @return The start of the Season as an index as defined by {@link DayOfYear}
+	 */
+	int getBeginDay();
+	/**
+	 * Returns the end of the Season, which is before the start if the Season spans the turn of the year
+	 * @return The end of the Season as an index as defined by {@link DayOfYear}
+	 */
+	int getEndDay();
 
 	/**
 	 * Takes a {@link String} representing a date as well as a {@link SimpleDateFormat} to parse the {@link String}
@@ -0,0 +1,312 @@
+package org.eaticious.common;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed answer to "which products are in season in a {@link Region} on a given day".
+ *
+ * Each product of the catalog passed to the constructor gets a dense id, its position in the list. For each
+ * {@link SeasonType} and each day of the year (see {@link DayOfYear}) the index holds a bit set over these ids, a
+ * bit being set if one of the product's seasons of this type covers the day. A query is a read of 365 * number of
+ * products / 64 words at most, filters such as tags or diets can be applied as masks built by
+ * {@link #toMask(Collection)} and combined word-wise.
+ *
+ * Instances are immutable and may be shared between threads. Changes of the catalog or the seasons require a new
+ * index.
+ */
+public class SeasonIndex {
+
+	/**
+	 * The region the seasons were taken from
+	 */
+	private final Region region;
+
+	/**
+	 * The products indexed, the position is the id of a product
+	 */
+	private final List<FoodProduct> products;
+
+	/**
+	 * The ids of the products
+	 */
+	private final Map<FoodProduct, Integer> ids;
+
+	/**
+	 * The number of longs needed for one bit set over all products
+	 */
+	private final int words;
+
+	/**
+	 * One plane of bit sets per {@link SeasonType} indexed by ordinal, each plane holds the bit sets of all days one
+	 * after another
+	 */
+	private final long[][] planes;
+
+	/**
+	 * Builds the index of a catalog for a region
+	 *
+	 * @param region
+	 *            The region whose seasons are indexed
+	 * @param products
+	 *            The catalog, a product's position in this list will be its id
+	 */
+	public SeasonIndex(final Region region, final List<? extends FoodProduct> products) {
+		this.region = region;
+		this.products = new ArrayList<FoodProduct>(products);
+		this.ids = new HashMap<FoodProduct, Integer>();
+		this.words = (this.products.size() + 63) >>> 6;
+		this.planes = new long[SeasonType.values().length][DayOfYear.DAYS * this.words];
+		for (int id = 0; id < this.products.size(); id++) {
+			final FoodProduct product = this.products.get(id);
+			this.ids.put(product, id);
+			for (final Season season : product.getSeasons(region)) {
+				if (season.getSeasonType() != null) {
+					this.index(id, season);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the bit of a product for all days of a season
+	 */
+	private void index(final int id, final Season season) {
+		final long[] plane = this.planes[season.getSeasonType().ordinal()];
+		final int word = id >>> 6;
+		final long bit = 1L << id;
+		final int begin = season.getBeginDay();
+		int days = season.getEndDay() - begin;
+		if (days < 0) {
+			days += DayOfYear.DAYS;
+		}
+		for (int i = 0; i <= days; i++) {
+			final int day = (begin + i) % DayOfYear.DAYS;
+			plane[day * this.words + word] |= bit;
+		}
+	}
+
+	/**
+	 * Returns the region the seasons were taken from
+	 *
+	 * @return The region of this index
+	 */
+	public Region getRegion() {
+		return this.region;
+	}
+
+	/**
+	 * Returns the number of products indexed
+	 *
+	 * @return The number of products
+	 */
+	public int size() {
+		return this.products.size();
+	}
+
+	/**
+	 * Returns the number of longs of a mask over all products
+	 *
+	 * @return The length of a mask
+	 */
+	public int getMaskLength() {
+		return this.words;
+	}
+
+	/**
+	 * Returns the product with the given id
+	 *
+	 * @param id
+	 *            The id of the product
+	 * @return The product
+	 */
+	public FoodProduct getProduct(final int id) {
+		return this.products.get(id);
+	}
+
+	/**
+	 * Returns the id of a product
+	 *
+	 * @param product
+	 *            The product
+	 * @return The id of the product or -1 if the product is not indexed
+	 */
+	public int getId(final FoodProduct product) {
+		final Integer id = this.ids.get(product);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns true if the product has a season of the given type covering the day
+	 *
+	 * @param id
+	 *            The id of the product
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @param type
+	 *            The type of season
+	 * @return true if the product is in season
+	 */
+	public boolean isInSeason(final int id, final int dayOfYear, final SeasonType type) {
+		if (id < 0 || id >= this.products.size()) {
+			throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + this.products.size());
+		}
+		final long word = this.planes[type.ordinal()][this.offset(dayOfYear) + (id >>> 6)];
+		return (word & (1L << id)) != 0;
+	}
+
+	/**
+	 * Returns the ids of all products having a season of the given type covering the day
+	 *
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @param type
+	 *            The type of season
+	 * @return The ids of the products in season
+	 */
+	public BitSet getIds(final int dayOfYear, final SeasonType type) {
+		final long[] plane = this.planes[type.ordinal()];
+		final int offset = this.offset(dayOfYear);
+		final BitSet result = new BitSet(this.products.size());
+		for (int w = 0; w < this.words; w++) {
+			long word = plane[offset + w];
+			while (word != 0) {
+				result.set((w << 6) + Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all products having a season of the given type covering the day
+	 *
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @param type
+	 *            The type of season
+	 * @return The products in season ordered by id
+	 */
+	public List<FoodProduct> getProducts(final int dayOfYear, final SeasonType type) {
+		final BitSet ids = this.getIds(dayOfYear, type);
+		final List<FoodProduct> result = new ArrayList<FoodProduct>(ids.cardinality());
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			result.add(this.products.get(id));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all products having a season of the given type covering the date
+	 *
+	 * @param date
+	 *            The date
+	 * @param type
+	 *            The type of season
+	 * @return The products in season ordered by id
+	 */
+	public List<FoodProduct> getProducts(final Date date, final SeasonType type) {
+		return this.getProducts(DayOfYear.of(date), type);
+	}
+
+	/**
+	 * Returns the number of products having a season of the given type covering the day
+	 *
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @param type
+	 *            The type of season
+	 * @return The number of products in season
+	 */
+	public int count(final int dayOfYear, final SeasonType type) {
+		final long[] plane = this.planes[type.ordinal()];
+		final int offset = this.offset(dayOfYear);
+		int result = 0;
+		for (int w = 0; w < this.words; w++) {
+			result += Long.bitCount(plane[offset + w]);
+		}
+		return result;
+	}
+
+	/**
+	 * Intersects a mask with the products having a season of the given type covering the day, the mask is changed in
+	 * place
+	 *
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @param type
+	 *            The type of season
+	 * @param mask
+	 *            A mask as returned by {@link #toMask(Collection)}
+	 * @return The mask passed
+	 */
+	public long[] intersect(final int dayOfYear, final SeasonType type, final long[] mask) {
+		this.checkMask(mask);
+		final long[] plane = this.planes[type.ordinal()];
+		final int offset = this.offset(dayOfYear);
+		for (int w = 0; w < this.words; w++) {
+			mask[w] &= plane[offset + w];
+		}
+		return mask;
+	}
+
+	/**
+	 * Creates a mask with the bits of the given products set, products not indexed are ignored
+	 *
+	 * @param products
+	 *            The products, e.g. all products matching a tag
+	 * @return The mask
+	 */
+	public long[] toMask(final Collection<? extends FoodProduct> products) {
+		final long[] result = new long[this.words];
+		for (final FoodProduct product : products) {
+			final int id = this.getId(product);
+			if (id >= 0) {
+				result[id >>> 6] |= 1L << id;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the products whose bits are set in a mask
+	 *
+	 * @param mask
+	 *            A mask as returned by {@link #toMask(Collection)}
+	 * @return The products ordered by id
+	 */
+	public List<FoodProduct> fromMask(final long[] mask) {
+		this.checkMask(mask);
+		final List<FoodProduct> result = new ArrayList<FoodProduct>();
+		for (int w = 0; w < this.words; w++) {
+			long word = mask[w];
+			while (word != 0) {
+				result.add(this.products.get((w << 6) + Long.numberOfTrailingZeros(word)));
+				word &= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the position of the bit set of a day within a plane
+	 */
+	private int offset(final int dayOfYear) {
+		return DayOfYear.checkDay(dayOfYear) * this.words;
+	}
+
+	/**
+	 * Throws an IllegalArgumentException if the mask does not fit this index
+	 */
+	private void checkMask(final long[] mask) {
+		if (mask.length != this.words) {
+			throw new IllegalArgumentException("Expected a mask of length " + this.words + ", got " + mask.length);
+		}
+	}
+
+}
@@ -0,0 +1,393 @@
+package org.eaticious.common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable set of days of the year (see {@link DayOfYear}) stored as a 365 bit mask. It supports union,
+ * intersection and complement of {@link Season}s, e.g. to find the days when two products are both in main season.
+ * A Season whose end is before its beginning spans the turn of the year, as with {@link SeasonImpl#setEnd(int, int)}.
+ */
+public final class SeasonMask implements Serializable {
+
+	private static final long serialVersionUID = 2810379224587313641L;
+
+	/**
+	 * The number of longs needed for 365 bits
+	 */
+	private static final int WORDS = (DayOfYear.DAYS + 63) >>> 6;
+
+	/**
+	 * The bits used in the last word
+	 */
+	private static final long LAST_WORD_MASK = -1L >>> (WORDS * 64 - DayOfYear.DAYS);
+
+	/**
+	 * The mask holding no day
+	 */
+	public static final SeasonMask EMPTY = new SeasonMask(new long[WORDS]);
+
+	/**
+	 * The mask holding every day
+	 */
+	public static final SeasonMask ALL = EMPTY.complement();
+
+	/**
+	 * The days, bit i of word i / 64 is set if day i is contained
+	 */
+	private final long[] bits;
+
+	/**
+	 * Constructs a mask owning the bits passed
+	 */
+	private SeasonMask(final long[] bits) {
+		this.bits = bits;
+	}
+
+	/**
+	 * Returns the mask of all days between two days including both
+	 *
+	 * @param beginDay
+	 *            The first day as defined by {@link DayOfYear}
+	 * @param endDay
+	 *            The last day, if before beginDay the days wrap around the turn of the year
+	 * @return The mask
+	 * @throws IllegalArgumentException
+	 *             if one of the days is not valid
+	 */
+	public static SeasonMask of(final int beginDay, final int endDay) throws IllegalArgumentException {
+		final long[] bits = new long[WORDS];
+		setRange(bits, DayOfYear.checkDay(beginDay), DayOfYear.checkDay(endDay));
+		return new SeasonMask(bits);
+	}
+
+	/**
+	 * Returns the mask of the days of a Season
+	 *
+	 * @param season
+	 *            The Season
+	 * @return The mask
+	 */
+	public static SeasonMask of(final Season season) {
+		return of(season.getBeginDay(), season.getEndDay());
+	}
+
+	/**
+	 * Returns the mask of the days a product is in season in a region
+	 *
+	 * @param product
+	 *            The product
+	 * @param region
+	 *            The region
+	 * @param type
+	 *            The type of the seasons taken into account, null for all types
+	 * @return The union of the product's seasons of the given type
+	 */
+	public static SeasonMask of(final FoodProduct product, final Region region, final SeasonType type) {
+		final long[] bits = new long[WORDS];
+		addSeasons(bits, product, region, type);
+		return new SeasonMask(bits);
+	}
+
+	/**
+	 * Returns the masks of the days the products are in season in a region
+	 *
+	 * @param products
+	 *            The products
+	 * @param region
+	 *            The region
+	 * @param type
+	 *            The type of the seasons taken into account, null for all types
+	 * @return The masks in the order of the products
+	 */
+	public static SeasonMask[] of(final List<? extends FoodProduct> products, final Region region,
+			final SeasonType type) {
+		final SeasonMask[] result = new SeasonMask[products.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = of(products.get(i), region, type);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the days on which all products are in season in a region
+	 *
+	 * @param products
+	 *            The products
+	 * @param region
+	 *            The region
+	 * @param type
+	 *            The type of the seasons taken into account, null for all types
+	 * @return The intersection of the products' seasons, {@link #ALL} if no product is given
+	 */
+	public static SeasonMask intersectAll(final List<? extends FoodProduct> products, final Region region,
+			final SeasonType type) {
+		final long[] result = ALL.bits.clone();
+		final long[] product = new long[WORDS];
+		for (int i = 0; i < products.size(); i++) {
+			Arrays.fill(product, 0L);
+			addSeasons(product, products.get(i), region, type);
+			for (int w = 0; w < WORDS; w++) {
+				result[w] &= product[w];
+			}
+		}
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the days on which at least one of the products is in season in a region
+	 *
+	 * @param products
+	 *            The products
+	 * @param region
+	 *            The region
+	 * @param type
+	 *            The type of the seasons taken into account, null for all types
+	 * @return The union of the products' seasons
+	 */
+	public static SeasonMask unionAll(final List<? extends FoodProduct> products, final Region region,
+			final SeasonType type) {
+		final long[] result = new long[WORDS];
+		for (int i = 0; i < products.size(); i++) {
+			addSeasons(result, products.get(i), region, type);
+		}
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the number of days each product shares with a mask
+	 *
+	 * @param products
+	 *            The products
+	 * @param region
+	 *            The region
+	 * @param type
+	 *            The type of the seasons taken into account, null for all types
+	 * @param mask
+	 *            The days to compare with, e.g. the season of another product
+	 * @return The number of shared days in the order of the products
+	 */
+	public static int[] overlapDays(final List<? extends FoodProduct> products, final Region region,
+			final SeasonType type, final SeasonMask mask) {
+		final int[] result = new int[products.size()];
+		final long[] product = new long[WORDS];
+		for (int i = 0; i < result.length; i++) {
+			Arrays.fill(product, 0L);
+			addSeasons(product, products.get(i), region, type);
+			int days = 0;
+			for (int w = 0; w < WORDS; w++) {
+				days += Long.bitCount(product[w] & mask.bits[w]);
+			}
+			result[i] = days;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if the day is contained
+	 *
+	 * @param dayOfYear
+	 *            The day as defined by {@link DayOfYear}
+	 * @return true if the day is contained
+	 */
+	public boolean contains(final int dayOfYear) {
+		DayOfYear.checkDay(dayOfYear);
+		return (this.bits[dayOfYear >>> 6] & (1L << dayOfYear)) != 0;
+	}
+
+	/**
+	 * Returns the number of days contained
+	 *
+	 * @return The number of days
+	 */
+	public int cardinality() {
+		int result = 0;
+		for (int w = 0; w < WORDS; w++) {
+			result += Long.bitCount(this.bits[w]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if no day is contained
+	 *
+	 * @return true if this mask is empty
+	 */
+	public boolean isEmpty() {
+		for (int w = 0; w < WORDS; w++) {
+			if (this.bits[w] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the days contained in this or the other mask
+	 *
+	 * @param other
+	 *            The other mask
+	 * @return The union
+	 */
+	public SeasonMask union(final SeasonMask other) {
+		final long[] result = new long[WORDS];
+		for (int w = 0; w < WORDS; w++) {
+			result[w] = this.bits[w] | other.bits[w];
+		}
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the days contained in this and the other mask
+	 *
+	 * @param other
+	 *            The other mask
+	 * @return The intersection
+	 */
+	public SeasonMask intersect(final SeasonMask other) {
+		final long[] result = new long[WORDS];
+		for (int w = 0; w < WORDS; w++) {
+			result[w] = this.bits[w] & other.bits[w];
+		}
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the days contained in this but not in the other mask
+	 *
+	 * @param other
+	 *            The other mask
+	 * @return The difference
+	 */
+	public SeasonMask minus(final SeasonMask other) {
+		final long[] result = new long[WORDS];
+		for (int w = 0; w < WORDS; w++) {
+			result[w] = this.bits[w] & ~other.bits[w];
+		}
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the days not contained in this mask
+	 *
+	 * @return The complement
+	 */
+	public SeasonMask complement() {
+		final long[] result = new long[WORDS];
+		for (int w = 0; w < WORDS; w++) {
+			result[w] = ~this.bits[w];
+		}
+		result[WORDS - 1] &= LAST_WORD_MASK;
+		return new SeasonMask(result);
+	}
+
+	/**
+	 * Returns the number of days contained in this and the other mask without creating the intersection
+	 *
+	 * @param other
+	 *            The other mask
+	 * @return The number of shared days
+	 */
+	public int overlapDays(final SeasonMask other) {
+		int result = 0;
+		for (int w = 0; w < WORDS; w++) {
+			result += Long.bitCount(this.bits[w] & other.bits[w]);
+		}
+		return result;
+	}
+
+	/**
+	 * Splits this mask into Seasons of consecutive days, a run including the 31st of December and the 1st of January
+	 * is returned as one Season spanning the turn of the year
+	 *
+	 * @param type
+	 *            The {@link SeasonType} of the Seasons
+	 * @return The Seasons ordered by their beginning
+	 */
+	public List<Season> toSeasons(final SeasonType type) {
+		final List<Season> result = new ArrayList<Season>();
+		if (this.isEmpty()) {
+			return result;
+		}
+		if (this.cardinality() == DayOfYear.DAYS) {
+			result.add(new ImmutableSeason(0, DayOfYear.DAYS - 1, type));
+			return result;
+		}
+		// start after a day not contained so that runs wrapping around are found in one piece
+		int start = 0;
+		while (this.contains(start)) {
+			start++;
+		}
+		int begin = -1;
+		for (int i = 1; i <= DayOfYear.DAYS; i++) {
+			final int day = (start + i) % DayOfYear.DAYS;
+			if (this.contains(day)) {
+				if (begin < 0) {
+					begin = day;
+				}
+			} else if (begin >= 0) {
+				result.add(new ImmutableSeason(begin, (day + DayOfYear.DAYS - 1) % DayOfYear.DAYS, type));
+				begin = -1;
+			}
+		}
+		if (start > 0 && !this.contains(DayOfYear.DAYS - 1)) {
+			// the run beginning on the 1st of January was found last, move it to keep the order by beginning
+			result.add(0, result.remove(result.size() - 1));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof SeasonMask && Arrays.equals(this.bits, ((SeasonMask) obj).bits);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.bits);
+	}
+
+	@Override
+	public String toString() {
+		return this.toSeasons(null).toString();
+	}
+
+	/**
+	 * Adds the seasons of a product to a mask
+	 */
+	private static void addSeasons(final long[] bits, final FoodProduct product, final Region region,
+			final SeasonType type) {
+		for (final Season season : product.getSeasons(region)) {
+			if (type == null || type == season.getSeasonType()) {
+				setRange(bits, season.getBeginDay(), season.getEndDay());
+			}
+		}
+	}
+
+	/**
+	 * Sets the bits of all days from begin to end including both, wrapping around if end is before begin
+	 */
+	private static void setRange(final long[] bits, final int begin, final int end) {
+		if (end < begin) {
+			setRange(bits, begin, DayOfYear.DAYS - 1);
+			setRange(bits, 0, end);
+			return;
+		}
+		final int firstWord = begin >>> 6;
+		final int lastWord = end >>> 6;
+		final long firstMask = -1L << begin;
+		final long lastMask = -1L >>> (63 - (end & 63));
+		if (firstWord == lastWord) {
+			bits[firstWord] |= firstMask & lastMask;
+		} else {
+			bits[firstWord] |= firstMask;
+			for (int w = firstWord + 1; w < lastWord; w++) {
+				bits[w] = -1L;
+			}
+			bits[lastWord] |= lastMask;
+		}
+	}
+
+}
@@ -47,6 +47,47 @@ public enum Unit {
 	// the conversion factor to convert this unit into its base unit
 	protected Double factor;
 	
+	/**
+	 * Conversion factors between all units indexed by {@link #ordinal()} of source and target unit. Holds NaN for
+	 * units that are not convertable into each other.
+	 */
+	private static final double[][] CONVERSION_FACTORS;
+	
+	/**
+	 * The transposed {@link #CONVERSION_FACTORS}, indexed by ordinal of target and source unit. Used for converting
+	 * columns of values having different units into one target unit.
+	 */
+	private static final double[][] CONVERSION_FACTORS_TO;
+	
+	/**
+	 * All units indexed by ordinal, values() would create a new array on each call
+	 */
+	private static final Unit[] UNITS = values();
+	
+	static {
+		CONVERSION_FACTORS = new double[UNITS.length][UNITS.length];
+		CONVERSION_FACTORS_TO = new double[UNITS.length][UNITS.length];
+		for (final Unit from : UNITS) {
+			for (final Unit to : UNITS) {
+				final boolean convertable = from.dimension.equals(to.dimension) && !from.dimension.equals(PhysicalDimension.OTHER);
+				final double conversionFactor = convertable ? to.factor / from.factor : Double.NaN;
+				CONVERSION_FACTORS[from.ordinal()][to.ordinal()] = conversionFactor;
+				CONVERSION_FACTORS_TO[to.ordinal()][from.ordinal()] = conversionFactor;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the Unit having the given ordinal, counterpart of {@link #ordinal()} for compact storage of units
+	 * 
+	 * @param ordinal The ordinal of the Unit
+	 * @return The Unit having the given ordinal
+	 * @throws IndexOutOfBoundsException if there is no Unit with this ordinal
+	 */
+	public static Unit fromOrdinal(final int ordinal) {
+		return UNITS[ordinal];
+	}
+	
 	/**
 	 * 
 	 * @param dimension The dimension used (hardcoded as String)
@@ -79,7 +120,7 @@ public enum Unit {
 	 * @return true if the target unit has the same dimension as this unit and UnitDimension is NOT OTHER, false otherwise
 	 */
 	public boolean isConvertable(final Unit unit) {
-		return this.dimension.equals(unit.getDimension()) && !this.dimension.equals(PhysicalDimension.OTHER);
+		return !Double.isNaN(CONVERSION_FACTORS[this.ordinal()][unit.ordinal()]);
 	}
 
 	/**
@@ -90,10 +131,23 @@ public enum Unit {
 	 * @throws IllegalArgumentException if units (source / target) are not convertable
 	 */
 	public Double convert(final Double value, final Unit targetUnit) throws IllegalArgumentException {
-		if(!this.isConvertable(targetUnit)){
+		return this.convertValue(value, targetUnit);
+	}
+	
+	/**
+	 * Same as {@link #convert(Double, Unit)} but working on primitives, so no boxing takes place
+	 * 
+	 * @param value The value (amount) of this unit to be converted
+	 * @param targetUnit The unit to convert to
+	 * @return The value (amount) for the target unit
+	 * @throws IllegalArgumentException if units (source / target) are not convertable
+	 */
+	public double convertValue(final double value, final Unit targetUnit) throws IllegalArgumentException {
+		final double conversionFactor = CONVERSION_FACTORS[this.ordinal()][targetUnit.ordinal()];
+		if(Double.isNaN(conversionFactor)){
 			throw new IllegalArgumentException("Cannot convert " + targetUnit + " into " + this + " since the describe different dimensions of our world.");
 		}
-		return value * this.getConversionFactor(targetUnit);
+		return value * conversionFactor;
 	}
 	
 	/**
@@ -103,10 +157,100 @@ public enum Unit {
 	 * @throws IllegalArgumentException thrown if units are not convertable
 	 */
 	public Double getConversionFactor(final Unit targetUnit) throws IllegalArgumentException{
-		if(!this.isConvertable(targetUnit)){
+		final double conversionFactor = CONVERSION_FACTORS[this.ordinal()][targetUnit.ordinal()];
+		if(Double.isNaN(conversionFactor)){
 			throw new IllegalArgumentException("Cannot convert " + targetUnit + " into " + this + " since the describe different dimensions of our world.");
 		}
-		return  targetUnit.factor / this.factor;
+		return conversionFactor;
+	}
+	
+	/**
+	 * Converts len values of this unit starting at index off into the target unit. The converted values are written
+	 * into dst at the same indices, dst may be the same array as src.
+	 * 
+	 * @param src The values (amounts) of this unit to be converted
+	 * @param off The index of the first value to be converted
+	 * @param len The number of values to be converted
+	 * @param targetUnit The unit to convert to
+	 * @param dst The array receiving the values (amounts) for the target unit
+	 * @throws IllegalArgumentException if units (source / target) are not convertable
+	 */
+	public void convertAll(final double[] src, final int off, final int len, final Unit targetUnit, final double[] dst) throws IllegalArgumentException {
+		checkRange(src.length, dst.length, off, len);
+		final double conversionFactor = this.getConversionFactor(targetUnit);
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			dst[i] = src[i] * conversionFactor;
+		}
+	}
+	
+	/**
+	 * Converts len values starting at index off into the target unit. The unit of each value is given by the parallel
+	 * array units. The converted values are written into dst at the same indices, dst may be the same array as src.
+	 * 
+	 * @param src The values (amounts) to be converted
+	 * @param units The unit of each value in src
+	 * @param off The index of the first value to be converted
+	 * @param len The number of values to be converted
+	 * @param targetUnit The unit to convert to
+	 * @param dst The array receiving the values (amounts) for the target unit
+	 * @throws IllegalArgumentException if one of the units is not convertable into the target unit, nothing is written then
+	 */
+	public static void convertAll(final double[] src, final Unit[] units, final int off, final int len, final Unit targetUnit, final double[] dst) throws IllegalArgumentException {
+		checkRange(Math.min(src.length, units.length), dst.length, off, len);
+		final double[] conversionFactors = CONVERSION_FACTORS_TO[targetUnit.ordinal()];
+		final int end = off + len;
+		// validate the whole unit column first, so a failing call leaves dst untouched even when converting in place
+		for (int i = off; i < end; i++) {
+			if (Double.isNaN(conversionFactors[units[i].ordinal()])) {
+				throw new IllegalArgumentException("Cannot convert " + units[i] + " into " + targetUnit + " since the describe different dimensions of our world.");
+			}
+		}
+		for (int i = off; i < end; i++) {
+			dst[i] = src[i] * conversionFactors[units[i].ordinal()];
+		}
+	}
+	
+	/**
+	 * Same as {@link #convertAll(double[], Unit[], int, int, Unit, double[])} but taking the units as a column of
+	 * ordinals as returned by {@link #ordinal()}
+	 * 
+	 * @param src The values (amounts) to be converted
+	 * @param unitOrdinals The ordinal of the unit of each value in src
+	 * @param off The index of the first value to be converted
+	 * @param len The number of values to be converted
+	 * @param targetUnit The unit to convert to
+	 * @param dst The array receiving the values (amounts) for the target unit
+	 * @throws IllegalArgumentException if one of the units is not convertable into the target unit, nothing is written then
+	 */
+	public static void convertAll(final double[] src, final byte[] unitOrdinals, final int off, final int len, final Unit targetUnit, final double[] dst) throws IllegalArgumentException {
+		checkRange(Math.min(src.length, unitOrdinals.length), dst.length, off, len);
+		final double[] conversionFactors = CONVERSION_FACTORS_TO[targetUnit.ordinal()];
+		final int end = off + len;
+		// validate the whole unit column first, so a failing call leaves dst untouched even when converting in place
+		for (int i = off; i < end; i++) {
+			if (Double.isNaN(conversionFactors[unitOrdinals[i]])) {
+				throw new IllegalArgumentException("Cannot convert " + UNITS[unitOrdinals[i]] + " into " + targetUnit + " since the describe different dimensions of our world.");
+			}
+		}
+		for (int i = off; i < end; i++) {
+			dst[i] = src[i] * conversionFactors[unitOrdinals[i]];
+		}
+	}
+	
+	/**
+	 * Checks that the range used by the bulk conversions fits into the arrays
+	 * 
+	 * @param srcLength The length of the source arrays
+	 * @param dstLength The length of the destination array
+	 * @param off The index of the first value
+	 * @param len The number of values
+	 * @throws IndexOutOfBoundsException if the range does not fit into the arrays
+	 */
+	private static void checkRange(final int srcLength, final int dstLength, final int off, final int len) {
+		if (off < 0 || len < 0 || off + len > srcLength || off + len > dstLength) {
+			throw new IndexOutOfBoundsException("Range [" + off + ", " + (off + len) + ") does not fit arrays of length " + srcLength + " and " + dstLength);
+		}
 	}
 
 }
\ No newline at end of file
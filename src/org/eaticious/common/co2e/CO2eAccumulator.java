@@ -0,0 +1,123 @@
+package org.eaticious.common.co2e;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+
+/**
+ * Mutable sum of CO2e emissions. Contributions are converted into kg CO2e and summed up as a primitive double using
+ * compensated (Kahan-Babuska) summation, so adding thousands of small values to a big total does not lose precision.
+ * The result is turned into a {@link Quantity} only once by calling {@link #getTotal()}.
+ *
+ * Instances are not thread safe, use one accumulator per calculation.
+ */
+public class CO2eAccumulator {
+
+	/**
+	 * The running sum in kg CO2e
+	 */
+	private double sum;
+
+	/**
+	 * The running compensation of the lower order bits lost while summing up
+	 */
+	private double compensation;
+
+	/**
+	 * Adds an emission given in kg CO2e
+	 *
+	 * @param kgCO2e
+	 *            The emission in kg CO2e
+	 * @return this accumulator
+	 */
+	public CO2eAccumulator add(final double kgCO2e) {
+		final double total = this.sum + kgCO2e;
+		if (Math.abs(this.sum) >= Math.abs(kgCO2e)) {
+			this.compensation += (this.sum - total) + kgCO2e;
+		} else {
+			this.compensation += (kgCO2e - total) + this.sum;
+		}
+		this.sum = total;
+		return this;
+	}
+
+	/**
+	 * Adds an emission given as amount and unit
+	 *
+	 * @param amount
+	 *            The amount of the emission
+	 * @param unit
+	 *            The unit of the amount, has to be convertable into {@link Unit#KG_CO2E}
+	 * @return this accumulator
+	 * @throws IllegalArgumentException
+	 *             if the unit cannot be converted into kg CO2e
+	 */
+	public CO2eAccumulator add(final double amount, final Unit unit) throws IllegalArgumentException {
+		return this.add(unit.convertValue(amount, Unit.KG_CO2E));
+	}
+
+	/**
+	 * Adds an emission given as a {@link Quantity}
+	 *
+	 * @param co2e
+	 *            The emission, has to be convertable into {@link Unit#KG_CO2E}
+	 * @return this accumulator
+	 * @throws IllegalArgumentException
+	 *             if the Quantity cannot be converted into kg CO2e
+	 */
+	public CO2eAccumulator add(final Quantity co2e) throws IllegalArgumentException {
+		return this.add(co2e.amountIn(Unit.KG_CO2E));
+	}
+
+	/**
+	 * Adds the current sum of another accumulator, e.g. when merging partial results
+	 *
+	 * @param other
+	 *            The accumulator to be added, will not be changed
+	 * @return this accumulator
+	 */
+	public CO2eAccumulator add(final CO2eAccumulator other) {
+		this.add(other.sum);
+		return this.add(other.compensation);
+	}
+
+	/**
+	 * Substracts an emission given as a {@link Quantity}
+	 *
+	 * @param co2e
+	 *            The emission, has to be convertable into {@link Unit#KG_CO2E}
+	 * @return this accumulator
+	 * @throws IllegalArgumentException
+	 *             if the Quantity cannot be converted into kg CO2e
+	 */
+	public CO2eAccumulator substract(final Quantity co2e) throws IllegalArgumentException {
+		return this.add(-co2e.amountIn(Unit.KG_CO2E));
+	}
+
+	/**
+	 * Returns the current sum
+	 *
+	 * @return The sum of all emissions added so far in kg CO2e
+	 */
+	public double getSum() {
+		return this.sum + this.compensation;
+	}
+
+	/**
+	 * Returns the current sum as a new {@link Quantity}
+	 *
+	 * @return The sum of all emissions added so far as a Quantity in {@link Unit#KG_CO2E}
+	 */
+	public Quantity getTotal() {
+		return new QuantityImpl(this.getSum(), Unit.KG_CO2E);
+	}
+
+	/**
+	 * Sets the sum back to zero so the accumulator can be reused
+	 */
+	public void reset() {
+		this.sum = 0d;
+		this.compensation = 0d;
+	}
+
+}
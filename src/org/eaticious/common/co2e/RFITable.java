@@ -0,0 +1,154 @@
+package org.eaticious.common.co2e;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.Unit;
+
+/**
+ * A table of RFI-factors (radiative forcing index) by flight distance. Between two distances of the table the factor
+ * is interpolated linearly, below the smallest and above the largest distance the factor of the nearest distance is
+ * used. The table is held in sorted primitive arrays with precomputed slopes, a lookup is a binary search and one
+ * multiply-add.
+ *
+ * Tables are immutable and may be shared between threads. Several tables can be used side by side, e.g. to compare
+ * methodologies, by passing them to the calculations.
+ */
+public final class RFITable implements Serializable {
+
+	private static final long serialVersionUID = -4530268219562860315L;
+
+	/**
+	 * RFI-factors taken from EcoTransIT (2012)
+	 */
+	public static final RFITable ECOTRANSIT_2012 = new RFITable("EcoTransIT 2012", new double[] { 500d, 750d,
+			1000d, 2000d, 4000d, 10000d }, new double[] { 1d, 1.81, 2.18, 2.52, 2.73, 2.87 });
+
+	/**
+	 * The name of this table
+	 */
+	private final String name;
+
+	/**
+	 * The distances in kilometer in ascending order
+	 */
+	private final double[] distances;
+
+	/**
+	 * The factors of the distances
+	 */
+	private final double[] factors;
+
+	/**
+	 * The slope between a distance and the next one, the last entry is unused
+	 */
+	private final double[] slopes;
+
+	/**
+	 * Constructs a table
+	 *
+	 * @param name
+	 *            The name of the table, e.g. the methodology and year the factors were taken from
+	 * @param distances
+	 *            The distances in kilometer in strictly ascending order
+	 * @param factors
+	 *            The RFI-factors of the distances
+	 * @throws IllegalArgumentException
+	 *             if the arrays are empty, differ in length or the distances are not strictly ascending and positive
+	 */
+	public RFITable(final String name, final double[] distances, final double[] factors)
+			throws IllegalArgumentException {
+		if (distances.length == 0 || distances.length != factors.length) {
+			throw new IllegalArgumentException("Expected the same positive number of distances and factors, got "
+					+ distances.length + " distances and " + factors.length + " factors");
+		}
+		for (int i = 0; i < distances.length; i++) {
+			if (!(distances[i] > 0) || (i > 0 && !(distances[i] > distances[i - 1]))) {
+				throw new IllegalArgumentException("Distances have to be positive and strictly ascending, was "
+						+ Arrays.toString(distances));
+			}
+		}
+		this.name = name;
+		this.distances = distances.clone();
+		this.factors = factors.clone();
+		this.slopes = new double[distances.length];
+		for (int i = 0; i < distances.length - 1; i++) {
+			this.slopes[i] = (factors[i + 1] - factors[i]) / (distances[i + 1] - distances[i]);
+		}
+	}
+
+	/**
+	 * Creates a table using the same RFI-factor for all distances, as some methodologies do
+	 *
+	 * @param name
+	 *            The name of the table
+	 * @param factor
+	 *            The RFI-factor
+	 * @return The new table
+	 */
+	public static RFITable constant(final String name, final double factor) {
+		return new RFITable(name, new double[] { 1d }, new double[] { factor });
+	}
+
+	/**
+	 * Returns the name of this table
+	 *
+	 * @return The name of this table
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Returns the RFI-factor for a flight
+	 *
+	 * @param distance
+	 *            The distance of the flight
+	 * @return The RFI-factor for the flight
+	 * @throws IllegalArgumentException
+	 *             if the distance is not bigger than 0
+	 */
+	public double getRFIFactor(final Quantity distance) throws IllegalArgumentException {
+		final double calcDistance = distance.amountIn(Unit.KILOMETER);
+		if (calcDistance <= 0) {
+			throw new IllegalArgumentException("The distance has to be bigger than 0, was " + distance.toString());
+		}
+		return this.getRFIFactor(calcDistance);
+	}
+
+	/**
+	 * Returns the RFI-factor for a flight
+	 *
+	 * @param calcDistance
+	 *            The distance of the flight in kilometer
+	 * @return The RFI-factor for the flight
+	 * @throws IllegalArgumentException
+	 *             if the distance is not bigger than 0
+	 */
+	public double getRFIFactor(final double calcDistance) throws IllegalArgumentException {
+		if (!(calcDistance > 0)) {
+			throw new IllegalArgumentException("The distance has to be bigger than 0, was " + calcDistance + " km");
+		}
+		final int index = Arrays.binarySearch(this.distances, calcDistance);
+		if (index >= 0) {
+			return this.factors[index];
+		}
+		// index of the first distance bigger than calcDistance
+		final int insertion = -index - 1;
+		if (insertion == 0) {
+			return this.factors[0];
+		}
+		final int lower = insertion - 1;
+		if (insertion == this.distances.length) {
+			return this.factors[lower];
+		}
+		return this.factors[lower] + this.slopes[lower] * (calcDistance - this.distances[lower]);
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+}
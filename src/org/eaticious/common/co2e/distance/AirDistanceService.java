@@ -0,0 +1,146 @@
+package org.eaticious.common.co2e.distance;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Region;
+import org.eaticious.common.Unit;
+
+/**
+ * Returns the flight distances to be passed to {@link org.eaticious.common.co2e.transport.Airplane}. As in EcoTransIT
+ * the flight distance is the great circle distance between the airports plus {@link #DETOUR} for holding patterns,
+ * take-off and landing procedures and routing around restricted airspace.
+ *
+ * Distances between the airports of the {@link DistanceMatrix} are looked up, others are computed from the
+ * {@link AirportIndex}.
+ */
+public final class AirDistanceService {
+
+	/**
+	 * The detour in kilometer added to the great circle distance of each flight, taken from EcoTransIT
+	 */
+	public static final double DETOUR = 95d;
+
+	/**
+	 * The coordinates of all airports
+	 */
+	private final AirportIndex index;
+
+	/**
+	 * The precomputed distances, null if all distances have to be computed
+	 */
+	private final DistanceMatrix matrix;
+
+	/**
+	 * Maps the indices of the airport index to those of the matrix, -1 for airports not in the matrix
+	 */
+	private final int[] matrixIndices;
+
+	/**
+	 * Constructs a service computing all distances
+	 *
+	 * @param index
+	 *            The coordinates of the airports
+	 */
+	public AirDistanceService(final AirportIndex index) {
+		this(index, null);
+	}
+
+	/**
+	 * Constructs a service
+	 *
+	 * @param index
+	 *            The coordinates of the airports
+	 * @param matrix
+	 *            The precomputed distances of some of the airports, null to compute all distances
+	 */
+	public AirDistanceService(final AirportIndex index, final DistanceMatrix matrix) {
+		this.index = index;
+		this.matrix = matrix;
+		this.matrixIndices = new int[index.size()];
+		for (int i = 0; i < this.matrixIndices.length; i++) {
+			this.matrixIndices[i] = matrix == null ? -1 : matrix.indexOf(index.getCode(i));
+		}
+	}
+
+	/**
+	 * Adds the detour of a flight to a great circle distance
+	 *
+	 * @param greatCircleDistance
+	 *            The great circle distance in kilometer
+	 * @return The flight distance in kilometer, 0 if the great circle distance is 0
+	 */
+	public static double toFlightDistance(final double greatCircleDistance) {
+		return greatCircleDistance > 0 ? greatCircleDistance + DETOUR : 0d;
+	}
+
+	/**
+	 * Returns the great circle distance between two airports
+	 *
+	 * @param from
+	 *            The index of the first airport in the {@link AirportIndex}
+	 * @param to
+	 *            The index of the second airport in the {@link AirportIndex}
+	 * @return The distance in kilometer
+	 */
+	public double getGreatCircleDistance(final int from, final int to) {
+		final int matrixFrom = this.matrixIndices[from];
+		final int matrixTo = this.matrixIndices[to];
+		if (matrixFrom >= 0 && matrixTo >= 0) {
+			return this.matrix.getDistance(matrixFrom, matrixTo);
+		}
+		return this.index.getDistance(from, to);
+	}
+
+	/**
+	 * Returns the flight distance between two airports including the detour
+	 *
+	 * @param from
+	 *            The index of the first airport in the {@link AirportIndex}
+	 * @param to
+	 *            The index of the second airport in the {@link AirportIndex}
+	 * @return The distance in kilometer
+	 */
+	public double getFlightDistance(final int from, final int to) {
+		return toFlightDistance(this.getGreatCircleDistance(from, to));
+	}
+
+	/**
+	 * Returns the flight distance between two airports including the detour
+	 *
+	 * @param from
+	 *            The code of the first airport
+	 * @param to
+	 *            The code of the second airport
+	 * @return The distance
+	 * @throws IllegalArgumentException
+	 *             if an airport is unknown
+	 */
+	public Quantity getFlightDistance(final String from, final String to) throws IllegalArgumentException {
+		return new QuantityImpl(this.getFlightDistance(this.checkIndex(this.index.indexOf(from), from),
+				this.checkIndex(this.index.indexOf(to), to)), Unit.KILOMETER);
+	}
+
+	/**
+	 * Returns the flight distance between the airports of two regions including the detour
+	 *
+	 * @param from
+	 *            The region of origin
+	 * @param to
+	 *            The region of destination
+	 * @return The distance
+	 * @throws IllegalArgumentException
+	 *             if no airport is assigned to a region, see {@link AirportIndex#setAirport(Region, String)}
+	 */
+	public Quantity getFlightDistance(final Region from, final Region to) throws IllegalArgumentException {
+		return new QuantityImpl(this.getFlightDistance(this.checkIndex(this.index.indexOf(from), from),
+				this.checkIndex(this.index.indexOf(to), to)), Unit.KILOMETER);
+	}
+
+	private int checkIndex(final int airport, final Object key) throws IllegalArgumentException {
+		if (airport < 0) {
+			throw new IllegalArgumentException("No airport known for " + key);
+		}
+		return airport;
+	}
+
+}
@@ -0,0 +1,207 @@
+package org.eaticious.common.co2e.distance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eaticious.common.Region;
+
+/**
+ * An in-memory index of airport coordinates. Airports are numbered in the order given to the constructor, the
+ * coordinates are held in radians together with the cosines of the latitudes as needed by
+ * {@link GreatCircle#distancesRadians(double, double, double, double[], double[], double[], int, int, double[])}.
+ *
+ * Regions can be assigned the airport their air freight is usually handled by. The coordinates are immutable, the
+ * assignment of regions is thread-safe.
+ */
+public final class AirportIndex {
+
+	/**
+	 * The codes of the airports, e.g. IATA codes
+	 */
+	private final String[] codes;
+
+	/**
+	 * The indices of the codes
+	 */
+	private final Map<String, Integer> indices;
+
+	/**
+	 * The latitudes in radians
+	 */
+	private final double[] lats;
+
+	/**
+	 * The longitudes in radians
+	 */
+	private final double[] lons;
+
+	/**
+	 * The cosines of the latitudes
+	 */
+	private final double[] cosLats;
+
+	/**
+	 * The airports of regions
+	 */
+	private final Map<Region, Integer> regionAirports = new ConcurrentHashMap<Region, Integer>();
+
+	/**
+	 * Constructs an index
+	 *
+	 * @param codes
+	 *            The unique codes of the airports, e.g. IATA codes
+	 * @param latitudes
+	 *            The latitudes of the airports in degrees
+	 * @param longitudes
+	 *            The longitudes of the airports in degrees
+	 * @throws IllegalArgumentException
+	 *             if the arrays differ in length, a code is used twice or a coordinate is out of range
+	 */
+	public AirportIndex(final String[] codes, final double[] latitudes, final double[] longitudes)
+			throws IllegalArgumentException {
+		final int size = codes.length;
+		if (latitudes.length != size || longitudes.length != size) {
+			throw new IllegalArgumentException("Expected the same number of codes and coordinates, got " + size
+					+ " codes, " + latitudes.length + " latitudes and " + longitudes.length + " longitudes");
+		}
+		this.codes = codes.clone();
+		this.indices = new HashMap<String, Integer>(size * 2);
+		this.lats = new double[size];
+		this.lons = new double[size];
+		this.cosLats = new double[size];
+		for (int i = 0; i < size; i++) {
+			if (!(Math.abs(latitudes[i]) <= 90d) || !(Math.abs(longitudes[i]) <= 180d)) {
+				throw new IllegalArgumentException("Coordinates of " + codes[i] + " out of range, was "
+						+ latitudes[i] + ", " + longitudes[i]);
+			}
+			if (this.indices.put(codes[i], i) != null) {
+				throw new IllegalArgumentException("Airport " + codes[i] + " is given more than once");
+			}
+			this.lats[i] = Math.toRadians(latitudes[i]);
+			this.lons[i] = Math.toRadians(longitudes[i]);
+			this.cosLats[i] = Math.cos(this.lats[i]);
+		}
+	}
+
+	/**
+	 * Returns the number of airports
+	 *
+	 * @return The number of airports
+	 */
+	public int size() {
+		return this.codes.length;
+	}
+
+	/**
+	 * Returns the code of an airport
+	 *
+	 * @param index
+	 *            The index of the airport
+	 * @return The code of the airport
+	 */
+	public String getCode(final int index) {
+		return this.codes[index];
+	}
+
+	/**
+	 * Returns the index of an airport
+	 *
+	 * @param code
+	 *            The code of the airport
+	 * @return The index of the airport or -1 if the airport is unknown
+	 */
+	public int indexOf(final String code) {
+		final Integer result = this.indices.get(code);
+		return result == null ? -1 : result;
+	}
+
+	/**
+	 * Assigns the airport handling the air freight of a region
+	 *
+	 * @param region
+	 *            The region
+	 * @param code
+	 *            The code of the airport
+	 * @throws IllegalArgumentException
+	 *             if the airport is unknown
+	 */
+	public void setAirport(final Region region, final String code) throws IllegalArgumentException {
+		final int index = this.indexOf(code);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown airport " + code);
+		}
+		this.regionAirports.put(region, index);
+	}
+
+	/**
+	 * Returns the index of the airport of a region, see {@link #setAirport(Region, String)}
+	 *
+	 * @param region
+	 *            The region
+	 * @return The index of the airport or -1 if no airport is assigned to the region or its parents
+	 */
+	public int indexOf(final Region region) {
+		for (Region current = region; current != null; current = current.getParent()) {
+			final Integer result = this.regionAirports.get(current);
+			if (result != null) {
+				return result;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the latitude of an airport
+	 *
+	 * @param index
+	 *            The index of the airport
+	 * @return The latitude in degrees
+	 */
+	public double getLatitude(final int index) {
+		return Math.toDegrees(this.lats[index]);
+	}
+
+	/**
+	 * Returns the longitude of an airport
+	 *
+	 * @param index
+	 *            The index of the airport
+	 * @return The longitude in degrees
+	 */
+	public double getLongitude(final int index) {
+		return Math.toDegrees(this.lons[index]);
+	}
+
+	/**
+	 * Returns the great circle distance between two airports
+	 *
+	 * @param from
+	 *            The index of the first airport
+	 * @param to
+	 *            The index of the second airport
+	 * @return The distance in kilometer
+	 */
+	public double getDistance(final int from, final int to) {
+		return GreatCircle.distanceRadians(this.lats[from], this.lons[from], this.cosLats[from], this.lats[to],
+				this.lons[to], this.cosLats[to]);
+	}
+
+	/**
+	 * Computes the great circle distances from an airport to a range of airports
+	 *
+	 * @param from
+	 *            The index of the origin
+	 * @param off
+	 *            The index of the first destination
+	 * @param len
+	 *            The number of destinations
+	 * @param result
+	 *            The array receiving the distances in kilometer at the indices of the destinations
+	 */
+	public void getDistances(final int from, final int off, final int len, final double[] result) {
+		GreatCircle.distancesRadians(this.lats[from], this.lons[from], this.cosLats[from], this.lats, this.lons,
+				this.cosLats, off, len, result);
+	}
+
+}
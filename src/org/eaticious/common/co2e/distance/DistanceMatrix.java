@@ -0,0 +1,169 @@
+package org.eaticious.common.co2e.distance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed great circle distances between a set of airports, usually the busiest ones of an {@link AirportIndex}.
+ * The distances are symmetric, only the upper triangle is stored as floats, 2 MB for 1000 airports. A matrix can be
+ * written to a file and mapped into memory again, so it does not need to be computed or read on startup.
+ *
+ * The file holds the int {@link #MAGIC}, the codes of the airports and the distances in kilometer of all pairs
+ * i &lt; j as big-endian floats.
+ *
+ * Matrices are immutable and may be shared between threads.
+ */
+public final class DistanceMatrix {
+
+	/**
+	 * The first four bytes of a matrix file, "EDM1"
+	 */
+	public static final int MAGIC = 0x45444D31;
+
+	/**
+	 * The codes of the airports
+	 */
+	private final String[] codes;
+
+	/**
+	 * The indices of the codes
+	 */
+	private final Map<String, Integer> indices;
+
+	/**
+	 * The distances of the upper triangle as floats, starting at position 0
+	 */
+	private final ByteBuffer distances;
+
+	/**
+	 * Constructs a matrix
+	 *
+	 * @param codes
+	 *            The codes of the airports
+	 * @param distances
+	 *            The distances of the upper triangle, starting at position 0
+	 */
+	private DistanceMatrix(final String[] codes, final ByteBuffer distances) {
+		this.codes = codes;
+		this.indices = new HashMap<String, Integer>(codes.length * 2);
+		for (int i = 0; i < codes.length; i++) {
+			this.indices.put(codes[i], i);
+		}
+		this.distances = distances;
+	}
+
+	/**
+	 * Computes the distances between the first airports of an index
+	 *
+	 * @param index
+	 *            The index, ordered by relevance of the airports
+	 * @param count
+	 *            The maximum number of airports to include
+	 * @return The new matrix
+	 * @throws IllegalArgumentException
+	 *             if more than 32768 airports would be included
+	 */
+	public static DistanceMatrix compute(final AirportIndex index, final int count) throws IllegalArgumentException {
+		final int size = Math.min(count, index.size());
+		final int pairs = MatrixFile.triangleSize(size);
+		final String[] codes = new String[size];
+		for (int i = 0; i < size; i++) {
+			codes[i] = index.getCode(i);
+		}
+		final ByteBuffer distances = ByteBuffer.allocate(pairs * 4);
+		final double[] row = new double[size];
+		for (int i = 0; i < size - 1; i++) {
+			index.getDistances(i, i + 1, size - i - 1, row);
+			for (int j = i + 1; j < size; j++) {
+				distances.putFloat((float) row[j]);
+			}
+		}
+		distances.clear();
+		return new DistanceMatrix(codes, distances);
+	}
+
+	/**
+	 * Maps a matrix file into memory
+	 *
+	 * @param file
+	 *            The file written by {@link #write(File)}
+	 * @return The matrix
+	 * @throws IOException
+	 *             if the file cannot be read
+	 * @throws IllegalArgumentException
+	 *             if the file is no matrix file or holds more than 32768 airports
+	 */
+	public static DistanceMatrix open(final File file) throws IOException, IllegalArgumentException {
+		final ByteBuffer buffer = MatrixFile.map(file, MAGIC);
+		final String[] codes = MatrixFile.readCodes(buffer);
+		final ByteBuffer distances = MatrixFile.slice(file, buffer, MatrixFile.triangleSize(codes.length) * 4);
+		if (buffer.hasRemaining()) {
+			throw new IllegalArgumentException(file + " has " + buffer.remaining() + " bytes after the distances");
+		}
+		return new DistanceMatrix(codes, distances);
+	}
+
+	/**
+	 * Writes this matrix to a file
+	 *
+	 * @param file
+	 *            The file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void write(final File file) throws IOException {
+		MatrixFile.write(file, MAGIC, this.codes, this.distances);
+	}
+
+	/**
+	 * Returns the number of airports
+	 *
+	 * @return The number of airports
+	 */
+	public int size() {
+		return this.codes.length;
+	}
+
+	/**
+	 * Returns the code of an airport
+	 *
+	 * @param index
+	 *            The index of the airport
+	 * @return The code of the airport
+	 */
+	public String getCode(final int index) {
+		return this.codes[index];
+	}
+
+	/**
+	 * Returns the index of an airport
+	 *
+	 * @param code
+	 *            The code of the airport
+	 * @return The index of the airport or -1 if the airport is not in this matrix
+	 */
+	public int indexOf(final String code) {
+		final Integer result = this.indices.get(code);
+		return result == null ? -1 : result;
+	}
+
+	/**
+	 * Returns the great circle distance between two airports
+	 *
+	 * @param from
+	 *            The index of the first airport
+	 * @param to
+	 *            The index of the second airport
+	 * @return The distance in kilometer
+	 */
+	public double getDistance(final int from, final int to) {
+		if (from == to && from >= 0 && from < this.codes.length) {
+			return 0d;
+		}
+		return this.distances.getFloat(MatrixFile.triangleIndex(this.codes.length, from, to) * 4);
+	}
+
+}
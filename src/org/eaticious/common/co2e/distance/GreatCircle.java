@@ -0,0 +1,100 @@
+package org.eaticious.common.co2e.distance;
+
+/**
+ * Great circle distances on a spherical earth using the haversine formula. The array methods take coordinates in
+ * radians together with the precomputed cosines of the latitudes, as held by {@link AirportIndex}, so the loop over
+ * the destinations needs no conversions and only one cosine per pair.
+ */
+public final class GreatCircle {
+
+	/**
+	 * The mean radius of the earth in kilometer
+	 */
+	public static final double EARTH_RADIUS = 6371.0088;
+
+	private GreatCircle() {
+		// static methods only
+	}
+
+	/**
+	 * Returns the great circle distance between two points
+	 *
+	 * @param latitude1
+	 *            The latitude of the first point in degrees
+	 * @param longitude1
+	 *            The longitude of the first point in degrees
+	 * @param latitude2
+	 *            The latitude of the second point in degrees
+	 * @param longitude2
+	 *            The longitude of the second point in degrees
+	 * @return The distance in kilometer
+	 */
+	public static double distance(final double latitude1, final double longitude1, final double latitude2,
+			final double longitude2) {
+		final double lat1 = Math.toRadians(latitude1);
+		final double lat2 = Math.toRadians(latitude2);
+		return distanceRadians(lat1, Math.toRadians(longitude1), Math.cos(lat1), lat2, Math.toRadians(longitude2),
+				Math.cos(lat2));
+	}
+
+	/**
+	 * Returns the great circle distance between two points given in radians
+	 *
+	 * @param lat1
+	 *            The latitude of the first point
+	 * @param lon1
+	 *            The longitude of the first point
+	 * @param cosLat1
+	 *            The cosine of the latitude of the first point
+	 * @param lat2
+	 *            The latitude of the second point
+	 * @param lon2
+	 *            The longitude of the second point
+	 * @param cosLat2
+	 *            The cosine of the latitude of the second point
+	 * @return The distance in kilometer
+	 */
+	public static double distanceRadians(final double lat1, final double lon1, final double cosLat1,
+			final double lat2, final double lon2, final double cosLat2) {
+		final double sinLat = Math.sin((lat2 - lat1) * 0.5);
+		final double sinLon = Math.sin((lon2 - lon1) * 0.5);
+		double h = sinLat * sinLat + cosLat1 * cosLat2 * sinLon * sinLon;
+		if (h > 1d) {
+			// rounding errors near antipodal points
+			h = 1d;
+		}
+		return 2d * EARTH_RADIUS * Math.asin(Math.sqrt(h));
+	}
+
+	/**
+	 * Computes the great circle distances from one point to several others
+	 *
+	 * @param lat
+	 *            The latitude of the origin in radians
+	 * @param lon
+	 *            The longitude of the origin in radians
+	 * @param cosLat
+	 *            The cosine of the latitude of the origin
+	 * @param lats
+	 *            The latitudes of the destinations in radians
+	 * @param lons
+	 *            The longitudes of the destinations in radians
+	 * @param cosLats
+	 *            The cosines of the latitudes of the destinations
+	 * @param off
+	 *            The index of the first destination
+	 * @param len
+	 *            The number of destinations
+	 * @param result
+	 *            The array receiving the distances in kilometer at the indices of the destinations
+	 */
+	public static void distancesRadians(final double lat, final double lon, final double cosLat,
+			final double[] lats, final double[] lons, final double[] cosLats, final int off, final int len,
+			final double[] result) {
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			result[i] = distanceRadians(lat, lon, cosLat, lats[i], lons[i], cosLats[i]);
+		}
+	}
+
+}
@@ -0,0 +1,214 @@
+package org.eaticious.common.co2e.distance;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Reading and writing of the symmetric matrix files of {@link DistanceMatrix} and {@link SeaRouteMatrix}. A file
+ * holds a magic int, the number of locations, the codes of the locations each as a length byte followed by the ASCII
+ * characters and the data of all pairs i &lt; j ordered by i and j. All numbers are big-endian.
+ */
+final class MatrixFile {
+
+	/**
+	 * The maximum number of locations, the largest size whose pairs fit into an int of bytes as floats
+	 */
+	static final int MAX_SIZE = 32768;
+
+	private static final Charset ASCII = Charset.forName("US-ASCII");
+
+	private MatrixFile() {
+		// static methods only
+	}
+
+	/**
+	 * Returns the number of pairs i &lt; j of a number of locations
+	 *
+	 * @param size
+	 *            The number of locations
+	 * @return The number of pairs, at most a fourth of Integer.MAX_VALUE
+	 * @throws IllegalArgumentException
+	 *             if the size is negative or exceeds {@link #MAX_SIZE}
+	 */
+	static int triangleSize(final int size) throws IllegalArgumentException {
+		checkSize(size);
+		return size * (size - 1) / 2;
+	}
+
+	/**
+	 * Checks that a number of locations fits into a matrix, so the byte counts of its pairs and the positions of
+	 * {@link #triangleIndex(int, int, int)} do not overflow
+	 *
+	 * @param size
+	 *            The number of locations
+	 * @throws IllegalArgumentException
+	 *             if the size is negative or exceeds {@link #MAX_SIZE}
+	 */
+	static void checkSize(final int size) throws IllegalArgumentException {
+		if (size < 0 || size > MAX_SIZE) {
+			throw new IllegalArgumentException("Matrix of " + size + " locations exceeds the limit of " + MAX_SIZE
+					+ " locations");
+		}
+	}
+
+	/**
+	 * Returns the position of a pair in the upper triangle
+	 *
+	 * @param size
+	 *            The number of locations
+	 * @param from
+	 *            The index of the first location
+	 * @param to
+	 *            The index of the second location, different from the first
+	 * @return The position of the pair
+	 * @throws IndexOutOfBoundsException
+	 *             if an index is out of range
+	 */
+	static int triangleIndex(final int size, final int from, final int to) throws IndexOutOfBoundsException {
+		if (from < 0 || to < 0 || from >= size || to >= size) {
+			throw new IndexOutOfBoundsException("Locations " + from + " and " + to + " not in matrix of size "
+					+ size);
+		}
+		final int i = Math.min(from, to);
+		final int j = Math.max(from, to);
+		// row i holds the pairs (i, i+1) to (i, size-1) and starts after the size-1 + ... + size-i pairs before
+		return i * (2 * size - i - 1) / 2 + j - i - 1;
+	}
+
+	/**
+	 * Maps a matrix file into memory
+	 *
+	 * @param file
+	 *            The file
+	 * @param magic
+	 *            The expected magic int
+	 * @return The content of the file, positioned after the magic int
+	 * @throws IOException
+	 *             if the file cannot be read
+	 * @throws IllegalArgumentException
+	 *             if the file does not start with the magic int
+	 */
+	static ByteBuffer map(final File file, final int magic) throws IOException, IllegalArgumentException {
+		final RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = raf.getChannel();
+			// the mapping stays valid after the channel is closed
+			final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < 8 || buffer.getInt() != magic) {
+				throw new IllegalArgumentException(file + " is no matrix file of the expected type");
+			}
+			return buffer;
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Reads the number of locations and their codes
+	 *
+	 * @param buffer
+	 *            The content of the file, positioned after the magic int
+	 * @return The codes of the locations
+	 * @throws IllegalArgumentException
+	 *             if the number of locations is negative, exceeds {@link #MAX_SIZE} or the remaining bytes
+	 */
+	static String[] readCodes(final ByteBuffer buffer) throws IllegalArgumentException {
+		final int size = buffer.getInt();
+		checkSize(size);
+		// each code takes at least its length byte, a corrupt count must not allocate a huge array
+		if (size > buffer.remaining()) {
+			throw new IllegalArgumentException("Matrix file holds " + buffer.remaining() + " bytes, too few for "
+					+ size + " locations");
+		}
+		final String[] result = new String[size];
+		for (int i = 0; i < result.length; i++) {
+			final byte[] code = new byte[buffer.get() & 0xFF];
+			buffer.get(code);
+			result[i] = new String(code, ASCII);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the next block of data of a file
+	 *
+	 * @param file
+	 *            The file, used in messages
+	 * @param buffer
+	 *            The content of the file, positioned at the start of the block
+	 * @param length
+	 *            The length of the block in bytes
+	 * @return The block, starting at position 0
+	 * @throws IllegalArgumentException
+	 *             if the file is too short
+	 */
+	static ByteBuffer slice(final File file, final ByteBuffer buffer, final int length)
+			throws IllegalArgumentException {
+		if (buffer.remaining() < length) {
+			throw new IllegalArgumentException(file + " has " + buffer.remaining() + " bytes of data left, expected "
+					+ length);
+		}
+		final ByteBuffer block = buffer.duplicate();
+		block.limit(buffer.position() + length);
+		buffer.position(buffer.position() + length);
+		return block.slice();
+	}
+
+	/**
+	 * Writes a matrix file
+	 *
+	 * @param file
+	 *            The file
+	 * @param magic
+	 *            The magic int
+	 * @param codes
+	 *            The codes of the locations
+	 * @param data
+	 *            The data of the pairs, written from position 0 to the capacity of each buffer
+	 * @throws IOException
+	 *             if the file cannot be written
+	 * @throws IllegalArgumentException
+	 *             if a code is longer than 255 characters
+	 */
+	static void write(final File file, final int magic, final String[] codes, final ByteBuffer... data)
+			throws IOException, IllegalArgumentException {
+		int headerSize = 8;
+		for (final String code : codes) {
+			headerSize += 1 + code.getBytes(ASCII).length;
+		}
+		final ByteBuffer header = ByteBuffer.allocate(headerSize);
+		header.putInt(magic);
+		header.putInt(codes.length);
+		for (final String code : codes) {
+			final byte[] bytes = code.getBytes(ASCII);
+			if (bytes.length > 0xFF) {
+				throw new IllegalArgumentException("Code too long: " + code);
+			}
+			header.put((byte) bytes.length);
+			header.put(bytes);
+		}
+		header.flip();
+		final FileOutputStream out = new FileOutputStream(file);
+		try {
+			final FileChannel channel = out.getChannel();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			for (final ByteBuffer buffer : data) {
+				final ByteBuffer copy = buffer.duplicate();
+				copy.clear();
+				while (copy.hasRemaining()) {
+					channel.write(copy);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+}
@@ -0,0 +1,273 @@
+package org.eaticious.common.co2e.distance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eaticious.common.co2e.transport.CargoShip.ShippingRoute;
+
+/**
+ * A graph of sea lanes between ports and waypoints such as straits and canals. Lanes are undirected and may be tagged
+ * with the {@link ShippingRoute} they belong to, e.g. the lane through the Suez canal with {@link ShippingRoute#SUEZ}
+ * or a Pacific crossing with {@link ShippingRoute#TRANSPACIFIC}.
+ *
+ * The ShippingRoute of a path is the tag of highest precedence on its lanes, the canals SUEZ and PANAMA first as they
+ * limit ship sizes, then TRANSPACIFIC and TRANSATLANTIC. Untagged paths are INTRA_CONTINENTAL if both ports lie on the
+ * same continent, INTRA_CONTINENTAL_EU for {@link #EUROPE}, and GLOBAL otherwise.
+ *
+ * The graph is filled by the caller and is not thread-safe, {@link SeaRouteMatrix#compute(SeaLaneGraph)} turns it
+ * into an immutable matrix.
+ */
+public class SeaLaneGraph {
+
+	/**
+	 * The continent code of european ports
+	 */
+	public static final String EUROPE = "EU";
+
+	/**
+	 * The names of the nodes
+	 */
+	private final List<String> names = new ArrayList<String>();
+
+	/**
+	 * The continents of the nodes, null for waypoints
+	 */
+	private final List<String> continents = new ArrayList<String>();
+
+	/**
+	 * The indices of the node names
+	 */
+	private final Map<String, Integer> indices = new HashMap<String, Integer>();
+
+	/**
+	 * The lanes leaving each node as pairs of node index and lane index
+	 */
+	private final List<List<int[]>> adjacency = new ArrayList<List<int[]>>();
+
+	/**
+	 * The lengths of the lanes in kilometer
+	 */
+	private final List<Double> laneLengths = new ArrayList<Double>();
+
+	/**
+	 * The tags of the lanes, null if untagged
+	 */
+	private final List<ShippingRoute> laneRoutes = new ArrayList<ShippingRoute>();
+
+	/**
+	 * Adds a port
+	 *
+	 * @param code
+	 *            The unique code of the port, e.g. its UN/LOCODE
+	 * @param continent
+	 *            The code of the continent, {@link #EUROPE} for european ports
+	 * @throws IllegalArgumentException
+	 *             if the code is already used or the continent is null
+	 */
+	public void addPort(final String code, final String continent) throws IllegalArgumentException {
+		if (continent == null) {
+			throw new IllegalArgumentException("Continent of port " + code + " is missing");
+		}
+		this.addNode(code, continent);
+	}
+
+	/**
+	 * Adds a waypoint, e.g. a strait or canal, that is no port
+	 *
+	 * @param name
+	 *            The unique name of the waypoint
+	 * @throws IllegalArgumentException
+	 *             if the name is already used
+	 */
+	public void addWaypoint(final String name) throws IllegalArgumentException {
+		this.addNode(name, null);
+	}
+
+	private void addNode(final String name, final String continent) throws IllegalArgumentException {
+		if (this.indices.containsKey(name)) {
+			throw new IllegalArgumentException("Node " + name + " is added more than once");
+		}
+		this.indices.put(name, this.names.size());
+		this.names.add(name);
+		this.continents.add(continent);
+		this.adjacency.add(new ArrayList<int[]>());
+	}
+
+	/**
+	 * Adds an untagged lane
+	 *
+	 * @param from
+	 *            The name of the first node
+	 * @param to
+	 *            The name of the second node
+	 * @param distance
+	 *            The length of the lane in kilometer
+	 * @throws IllegalArgumentException
+	 *             if a node is unknown or the distance is not positive
+	 */
+	public void addLane(final String from, final String to, final double distance) throws IllegalArgumentException {
+		this.addLane(from, to, distance, null);
+	}
+
+	/**
+	 * Adds a lane
+	 *
+	 * @param from
+	 *            The name of the first node
+	 * @param to
+	 *            The name of the second node
+	 * @param distance
+	 *            The length of the lane in kilometer
+	 * @param route
+	 *            The ShippingRoute the lane belongs to, null if untagged
+	 * @throws IllegalArgumentException
+	 *             if a node is unknown or the distance is not positive
+	 */
+	public void addLane(final String from, final String to, final double distance, final ShippingRoute route)
+			throws IllegalArgumentException {
+		final int a = this.checkNode(from);
+		final int b = this.checkNode(to);
+		if (!(distance > 0)) {
+			throw new IllegalArgumentException("Length of lane " + from + " - " + to + " has to be positive, was "
+					+ distance);
+		}
+		final int lane = this.laneLengths.size();
+		this.laneLengths.add(distance);
+		this.laneRoutes.add(route);
+		this.adjacency.get(a).add(new int[] { b, lane });
+		this.adjacency.get(b).add(new int[] { a, lane });
+	}
+
+	private int checkNode(final String name) throws IllegalArgumentException {
+		final Integer result = this.indices.get(name);
+		if (result == null) {
+			throw new IllegalArgumentException("Unknown node " + name);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the codes of all ports in the order they were added
+	 *
+	 * @return The codes of the ports
+	 */
+	public List<String> getPorts() {
+		final List<String> result = new ArrayList<String>();
+		for (int i = 0; i < this.names.size(); i++) {
+			if (this.continents.get(i) != null) {
+				result.add(this.names.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the shortest paths from a port to all nodes with Dijkstra's algorithm
+	 *
+	 * @param port
+	 *            The code of the port
+	 * @param distances
+	 *            The array receiving the distances in kilometer by node index, infinite for unreachable nodes
+	 * @param routes
+	 *            The array receiving the ShippingRoutes by node index, see {@link SeaLaneGraph}
+	 */
+	void shortestPaths(final String port, final double[] distances, final ShippingRoute[] routes) {
+		final int size = this.names.size();
+		final int source = this.checkNode(port);
+		final String continent = this.continents.get(source);
+		final int[] ranks = new int[size];
+		final boolean[] done = new boolean[size];
+		Arrays.fill(distances, 0, size, Double.POSITIVE_INFINITY);
+		Arrays.fill(routes, 0, size, null);
+		distances[source] = 0d;
+		// dense variant, sea lane graphs have a few hundred nodes
+		for (int round = 0; round < size; round++) {
+			int u = -1;
+			for (int i = 0; i < size; i++) {
+				if (!done[i] && (u < 0 || distances[i] < distances[u])) {
+					u = i;
+				}
+			}
+			if (distances[u] == Double.POSITIVE_INFINITY) {
+				break;
+			}
+			done[u] = true;
+			for (final int[] edge : this.adjacency.get(u)) {
+				final int v = edge[0];
+				final double distance = distances[u] + this.laneLengths.get(edge[1]);
+				if (distance < distances[v]) {
+					distances[v] = distance;
+					final ShippingRoute tag = this.laneRoutes.get(edge[1]);
+					if (rank(tag) > ranks[u]) {
+						ranks[v] = rank(tag);
+						routes[v] = tag;
+					} else {
+						ranks[v] = ranks[u];
+						routes[v] = routes[u];
+					}
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			if (routes[i] == null && distances[i] < Double.POSITIVE_INFINITY) {
+				final String other = this.continents.get(i);
+				if (other == null || !other.equals(continent)) {
+					routes[i] = ShippingRoute.GLOBAL;
+				} else {
+					routes[i] = EUROPE.equals(continent) ? ShippingRoute.INTRA_CONTINENTAL_EU
+							: ShippingRoute.INTRA_CONTINENTAL;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of a node
+	 *
+	 * @param name
+	 *            The name of the node
+	 * @return The index of the node or -1 if unknown
+	 */
+	int indexOf(final String name) {
+		final Integer result = this.indices.get(name);
+		return result == null ? -1 : result;
+	}
+
+	/**
+	 * Returns the number of nodes
+	 *
+	 * @return The number of ports and waypoints
+	 */
+	int size() {
+		return this.names.size();
+	}
+
+	/**
+	 * Returns the precedence of a lane tag
+	 *
+	 * @param route
+	 *            The tag
+	 * @return The precedence, 0 for untagged lanes
+	 */
+	private static int rank(final ShippingRoute route) {
+		if (route == null) {
+			return 0;
+		}
+		switch (route) {
+		case SUEZ:
+			return 4;
+		case PANAMA:
+			return 3;
+		case TRANSPACIFIC:
+			return 2;
+		case TRANSATLANTIC:
+			return 1;
+		default:
+			return 0;
+		}
+	}
+
+}
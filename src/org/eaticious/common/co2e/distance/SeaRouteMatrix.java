@@ -0,0 +1,264 @@
+package org.eaticious.common.co2e.distance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.CargoShip;
+import org.eaticious.common.co2e.transport.CargoShip.ShippingRoute;
+
+/**
+ * Precomputed shortest sea distances and {@link ShippingRoute}s between all ports of a {@link SeaLaneGraph}, as
+ * needed by {@link CargoShip#getCO2e(Quantity, org.eaticious.common.FoodProduct.TransportClass, Quantity,
+ * ShippingRoute)}. Lookups are O(1). The matrix is symmetric, only the upper triangle is stored, a float distance and
+ * a byte route per pair, about 6 MB for 1500 ports.
+ *
+ * A matrix can be written to a file and mapped into memory again, so the paths do not need to be computed on startup.
+ * The file holds the int {@link #MAGIC}, the codes of the ports, the distances in kilometer of all pairs i &lt; j as
+ * big-endian floats and the ordinals of their ShippingRoutes as bytes.
+ *
+ * Matrices are immutable and may be shared between threads.
+ */
+public final class SeaRouteMatrix {
+
+	/**
+	 * The first four bytes of a matrix file, "ESR1"
+	 */
+	public static final int MAGIC = 0x45535231;
+
+	/**
+	 * The byte stored for pairs of unconnected ports
+	 */
+	private static final byte NO_ROUTE = -1;
+
+	private static final ShippingRoute[] ROUTES = ShippingRoute.values();
+
+	/**
+	 * The codes of the ports
+	 */
+	private final String[] codes;
+
+	/**
+	 * The indices of the codes
+	 */
+	private final Map<String, Integer> indices;
+
+	/**
+	 * The distances of the upper triangle as floats, starting at position 0
+	 */
+	private final ByteBuffer distances;
+
+	/**
+	 * The ordinals of the ShippingRoutes of the upper triangle, starting at position 0
+	 */
+	private final ByteBuffer routes;
+
+	/**
+	 * Constructs a matrix
+	 *
+	 * @param codes
+	 *            The codes of the ports
+	 * @param distances
+	 *            The distances of the upper triangle, starting at position 0
+	 * @param routes
+	 *            The routes of the upper triangle, starting at position 0
+	 */
+	private SeaRouteMatrix(final String[] codes, final ByteBuffer distances, final ByteBuffer routes) {
+		this.codes = codes;
+		this.indices = new HashMap<String, Integer>(codes.length * 2);
+		for (int i = 0; i < codes.length; i++) {
+			this.indices.put(codes[i], i);
+		}
+		this.distances = distances;
+		this.routes = routes;
+	}
+
+	/**
+	 * Computes the shortest paths between all ports of a graph, running Dijkstra's algorithm from each port
+	 *
+	 * @param graph
+	 *            The graph
+	 * @return The new matrix
+	 * @throws IllegalArgumentException
+	 *             if the graph has more than 32768 ports
+	 */
+	public static SeaRouteMatrix compute(final SeaLaneGraph graph) throws IllegalArgumentException {
+		final List<String> ports = graph.getPorts();
+		final int size = ports.size();
+		final int pairs = MatrixFile.triangleSize(size);
+		final String[] codes = ports.toArray(new String[size]);
+		final int[] nodes = new int[size];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = graph.indexOf(codes[i]);
+		}
+		final ByteBuffer distances = ByteBuffer.allocate(pairs * 4);
+		final ByteBuffer routes = ByteBuffer.allocate(pairs);
+		final double[] nodeDistances = new double[graph.size()];
+		final ShippingRoute[] nodeRoutes = new ShippingRoute[graph.size()];
+		for (int i = 0; i < size - 1; i++) {
+			graph.shortestPaths(codes[i], nodeDistances, nodeRoutes);
+			for (int j = i + 1; j < size; j++) {
+				final int node = nodes[j];
+				distances.putFloat((float) nodeDistances[node]);
+				routes.put(nodeRoutes[node] == null ? NO_ROUTE : (byte) nodeRoutes[node].ordinal());
+			}
+		}
+		distances.clear();
+		routes.clear();
+		return new SeaRouteMatrix(codes, distances, routes);
+	}
+
+	/**
+	 * Maps a matrix file into memory
+	 *
+	 * @param file
+	 *            The file written by {@link #write(File)}
+	 * @return The matrix
+	 * @throws IOException
+	 *             if the file cannot be read
+	 * @throws IllegalArgumentException
+	 *             if the file is no matrix file or holds more than 32768 ports
+	 */
+	public static SeaRouteMatrix open(final File file) throws IOException, IllegalArgumentException {
+		final ByteBuffer buffer = MatrixFile.map(file, MAGIC);
+		final String[] codes = MatrixFile.readCodes(buffer);
+		final int pairs = MatrixFile.triangleSize(codes.length);
+		final ByteBuffer distances = MatrixFile.slice(file, buffer, pairs * 4);
+		final ByteBuffer routes = MatrixFile.slice(file, buffer, pairs);
+		if (buffer.hasRemaining()) {
+			throw new IllegalArgumentException(file + " has " + buffer.remaining() + " bytes after the routes");
+		}
+		return new SeaRouteMatrix(codes, distances, routes);
+	}
+
+	/**
+	 * Writes this matrix to a file
+	 *
+	 * @param file
+	 *            The file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void write(final File file) throws IOException {
+		MatrixFile.write(file, MAGIC, this.codes, this.distances, this.routes);
+	}
+
+	/**
+	 * Returns the number of ports
+	 *
+	 * @return The number of ports
+	 */
+	public int size() {
+		return this.codes.length;
+	}
+
+	/**
+	 * Returns the code of a port
+	 *
+	 * @param index
+	 *            The index of the port
+	 * @return The code of the port
+	 */
+	public String getCode(final int index) {
+		return this.codes[index];
+	}
+
+	/**
+	 * Returns the index of a port
+	 *
+	 * @param code
+	 *            The code of the port
+	 * @return The index of the port or -1 if the port is not in this matrix
+	 */
+	public int indexOf(final String code) {
+		final Integer result = this.indices.get(code);
+		return result == null ? -1 : result;
+	}
+
+	/**
+	 * Returns the sea distance between two ports
+	 *
+	 * @param from
+	 *            The index of the first port
+	 * @param to
+	 *            The index of the second port
+	 * @return The distance in kilometer, infinite if the ports are not connected
+	 */
+	public double getDistance(final int from, final int to) {
+		if (from == to && from >= 0 && from < this.codes.length) {
+			return 0d;
+		}
+		return this.distances.getFloat(MatrixFile.triangleIndex(this.codes.length, from, to) * 4);
+	}
+
+	/**
+	 * Returns the ShippingRoute between two ports
+	 *
+	 * @param from
+	 *            The index of the first port
+	 * @param to
+	 *            The index of the second port
+	 * @return The ShippingRoute, {@link ShippingRoute#GLOBAL_AVERAGE} for a port and itself, null if the ports are not
+	 *         connected
+	 */
+	public ShippingRoute getRoute(final int from, final int to) {
+		if (from == to && from >= 0 && from < this.codes.length) {
+			return ShippingRoute.GLOBAL_AVERAGE;
+		}
+		final byte route = this.routes.get(MatrixFile.triangleIndex(this.codes.length, from, to));
+		return route == NO_ROUTE ? null : ROUTES[route];
+	}
+
+	/**
+	 * Returns the sea distance between two ports
+	 *
+	 * @param from
+	 *            The code of the first port
+	 * @param to
+	 *            The code of the second port
+	 * @return The distance
+	 * @throws IllegalArgumentException
+	 *             if a port is unknown or the ports are not connected
+	 */
+	public Quantity getDistance(final String from, final String to) throws IllegalArgumentException {
+		final double distance = this.getDistance(this.checkPort(from), this.checkPort(to));
+		if (Double.isInfinite(distance)) {
+			throw new IllegalArgumentException("No sea route between " + from + " and " + to);
+		}
+		return new QuantityImpl(distance, Unit.KILOMETER);
+	}
+
+	/**
+	 * Returns the ShippingRoute between two ports
+	 *
+	 * @param from
+	 *            The code of the first port
+	 * @param to
+	 *            The code of the second port
+	 * @return The ShippingRoute
+	 * @throws IllegalArgumentException
+	 *             if a port is unknown or the ports are not connected
+	 */
+	public ShippingRoute getRoute(final String from, final String to) throws IllegalArgumentException {
+		final ShippingRoute route = this.getRoute(this.checkPort(from), this.checkPort(to));
+		if (route == null) {
+			throw new IllegalArgumentException("No sea route between " + from + " and " + to);
+		}
+		return route;
+	}
+
+	private int checkPort(final String code) throws IllegalArgumentException {
+		final int result = this.indexOf(code);
+		if (result < 0) {
+			throw new IllegalArgumentException("Unknown port " + code);
+		}
+		return result;
+	}
+
+}
@@ -1,15 +1,9 @@
 package org.eaticious.common.co2e.transport;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import org.eaticious.common.ImmutableQuantity;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
-import org.eaticious.common.co2e.RFICalculator;
+import org.eaticious.common.co2e.RFITable;
 import org.eaticious.common.co2e.transport.AirplaneSpecification.StandardModel;
 /**
  * This represents Airplanes as used by EcoTransIT for calculation of CO2E-emissions.
@@ -62,19 +56,26 @@ public class Airplane implements Vessel {
 	public static final int PASSENGER_WEIGHT = 100;
 
 	/**
-	 * The mean capacity utilization regarding the cargo of the Airplane
+	 * The mean capacity utilization regarding the cargo of the Airplane, indexed by the ordinal of {@link HaulDistance}
+	 * (values from EcoTransIT)
 	 */
-	private Map<HaulDistance, Double> freightCapacityUtilization;
-	
+	private static final double[] FREIGHT_CAPACITY_UTILIZATION = { 0.55, 0.6, 0.65 };
+
 	/**
-	 * The mean capacity utilization regarding the number of passengers in the Airplane
+	 * The mean capacity utilization regarding the number of passengers in the Airplane, indexed by the ordinal of
+	 * {@link HaulDistance} (values from EcoTransIT)
 	 */
-	private Map<HaulDistance, Double> passengerCapacityUtilization;
+	private static final double[] PASSENGER_CAPACITY_UTILIZATION = { 0.65, 0.7, 0.8 };
 
 	/**
 	 * AirplaneSpecification holding data needed to make CO2e calculations for Airplanes
 	 */
-	private AirplaneSpecification specs;
+	private final AirplaneSpecification specs;
+
+	/**
+	 * Precomputed emissions used instead of the consumption profile, null if the profile is evaluated on each call
+	 */
+	private final AirplaneEmissionTable emissionTable;
 
 	/**
 	 * Standard constructor
@@ -83,19 +84,20 @@ public class Airplane implements Vessel {
 	 *            The AirplaneSpecification of the new Airplane
 	 */
 	public Airplane(final AirplaneSpecification specs) {
-		// values from EcoTransIT
-		// TODO might have to move this to calc class or to DB, was static but now is in constructor to avoid conflicts
-		// in UnitTests
-		this.freightCapacityUtilization = new HashMap<Airplane.HaulDistance, Double>();
-		this.freightCapacityUtilization.put(HaulDistance.SHORT, 0.55);
-		this.freightCapacityUtilization.put(HaulDistance.MEDIUM, 0.6);
-		this.freightCapacityUtilization.put(HaulDistance.LONG, 0.65);
-		this.passengerCapacityUtilization = new HashMap<Airplane.HaulDistance, Double>();
-		this.passengerCapacityUtilization.put(HaulDistance.SHORT, 0.65);
-		this.passengerCapacityUtilization.put(HaulDistance.MEDIUM, 0.7);
-		this.passengerCapacityUtilization.put(HaulDistance.LONG, 0.8);
+		this(specs, null);
+	}
 
+	/**
+	 * Constructs an Airplane
+	 * 
+	 * @param specs
+	 *            The AirplaneSpecification of the new Airplane
+	 * @param emissionTable
+	 *            The precomputed emissions of the specification, null if the profile is evaluated on each call
+	 */
+	private Airplane(final AirplaneSpecification specs, final AirplaneEmissionTable emissionTable) {
 		this.specs = specs;
+		this.emissionTable = emissionTable;
 	}
 
 	/**
@@ -108,6 +110,19 @@ public class Airplane implements Vessel {
 		this(new AirplaneSpecification(model));
 	}
 
+	/**
+	 * Constructs an Airplane of a StandardModel that optionally uses an {@link AirplaneEmissionTable} instead of
+	 * evaluating the consumption profile. See {@link AirplaneEmissionTable} for the error bound.
+	 * 
+	 * @param model
+	 *            The StandardModel to be constructed
+	 * @param useEmissionTable
+	 *            true if precomputed emissions should be used
+	 */
+	public Airplane(final StandardModel model, final boolean useEmissionTable) {
+		this(new AirplaneSpecification(model), useEmissionTable ? AirplaneEmissionTable.forModel(model) : null);
+	}
+
 	/**
 	 * Calculates the CO2e emission allocated to a particular part of the payload for the whole flight
 	 * 
@@ -121,8 +136,24 @@ public class Airplane implements Vessel {
 	 * @return The CO2e emission allocated to the weight of payload for the whole flight
 	 */
 	public Quantity getCO2e(final Quantity distance, final Quantity payload, final boolean useRFI) {
-		Double co2e = this.getTotalCO2e(distance, useRFI).getAmount() / this.getTransportedWeight(distance) * payload.convert(Unit.KILOGRAM).getAmount();
-		return new QuantityImpl(co2e, Unit.KG_CO2E);
+		return this.getCO2e(distance, payload, getRFITable(useRFI));
+	}
+
+	/**
+	 * Calculates the CO2e emission allocated to a particular part of the payload for the whole flight
+	 * 
+	 * @param distance
+	 *            The distance traveled
+	 * @param payload
+	 *            the weight for which the allocation will be made (any Quantity of PhysicalDimension.MASS can be used)
+	 * @param rfiTable
+	 *            the RFI-factors used for the higher greenhouse potential for emission near the stratosphere, null if
+	 *            no RFI-factor should be applied
+	 * @return The CO2e emission allocated to the weight of payload for the whole flight
+	 */
+	public Quantity getCO2e(final Quantity distance, final Quantity payload, final RFITable rfiTable) {
+		final double co2e = this.getCO2e(distance.amountIn(Unit.KILOMETER), payload.amountIn(Unit.KILOGRAM), rfiTable);
+		return new ImmutableQuantity(co2e, Unit.KG_CO2E);
 	}
 
 	/**
@@ -138,9 +169,25 @@ public class Airplane implements Vessel {
 	 * @return The CO2e emission allocated to the weight of payload per kilometer
 	 */
 	public Quantity getCO2ePerKM(final Quantity distance, final Quantity payload, final boolean useRFI) {
-		final Quantity co2e = this.getCO2e(distance, payload, useRFI);
-		co2e.setAmount(co2e.getAmount() / distance.convert(Unit.KILOMETER).getAmount());
-		return co2e;
+		return this.getCO2ePerKM(distance, payload, getRFITable(useRFI));
+	}
+
+	/**
+	 * Calculates the CO2e emission per kilometer allocated to a particular part of the payload for the whole flight
+	 * 
+	 * @param distance
+	 *            The distance traveled
+	 * @param payload
+	 *            the weight for which the allocation will be made (any Quantity of PhysicalDimension.MASS can be used)
+	 * @param rfiTable
+	 *            the RFI-factors used for the higher greenhouse potential for emission near the stratosphere, null if
+	 *            no RFI-factor should be applied
+	 * @return The CO2e emission allocated to the weight of payload per kilometer
+	 */
+	public Quantity getCO2ePerKM(final Quantity distance, final Quantity payload, final RFITable rfiTable) {
+		final double calcDistance = distance.amountIn(Unit.KILOMETER);
+		final double co2e = this.getCO2e(calcDistance, payload.amountIn(Unit.KILOGRAM), rfiTable);
+		return new ImmutableQuantity(co2e / calcDistance, Unit.KG_CO2E);
 	}
 
 	/**
@@ -151,53 +198,7 @@ public class Airplane implements Vessel {
 	 * @return The amount of fuel burned by this Airplane when traveling the given distance.
 	 */
 	public Quantity getFuelConsumption(final Quantity distance) {
-		Double result = 0d;
-		final Double convDistance = distance.convert(Unit.KILOMETER).getAmount();
-
-		// calculate with multiple trips if distance exceeds the max range of this airplane
-		final double numTrips = Math.ceil(convDistance / this.specs.getMaxRange());
-		final double calcDist = convDistance / numTrips;
-
-		if (this.specs.hasConsumptionData()) {
-			final Map<Double, Double> consumptionProfile = this.specs.getConsumptionProfile();
-			if (consumptionProfile.containsKey(calcDist)) {
-				result = consumptionProfile.get(calcDist);
-			} else {
-				Double minKey = null;
-				Double maxKey = null;
-				// make List from keyset
-				final List<Double> keys = new ArrayList<Double>(consumptionProfile.keySet());
-				// sort keys in ascending order
-				Collections.sort(keys);
-				// identify closest values
-				for (final Double key : keys) {
-					if (calcDist < key) {
-						// once a key with a higher distance is found the maxValue is found. exit loop.
-						maxKey = key;
-						break;
-					} else {
-						// as long as distance is bigger than key a new minValue is found
-						minKey = key;
-					}
-				}
-				if (minKey == null) {
-					// may happen if consumption profile holds only key-values bigger than distance
-					// linear interpolation will be used
-					result = calcDist * consumptionProfile.get(maxKey) / maxKey;
-				} else if (maxKey == null) {
-					// may happen if consumption profile hold only key-values smaller than distance
-					// linear interpolation will be used
-					result = calcDist * consumptionProfile.get(minKey) / minKey;
-				} else {
-					// linear interpolation
-					final double steep = (consumptionProfile.get(maxKey) - consumptionProfile.get(minKey))
-							/ (maxKey - minKey);
-					result = consumptionProfile.get(minKey) + (calcDist - minKey) * steep;
-				}
-
-			}
-		}
-		return new QuantityImpl(result * numTrips, Unit.KILOGRAM);
+		return new ImmutableQuantity(this.getFuelConsumption(distance.amountIn(Unit.KILOMETER)), Unit.KILOGRAM);
 	}
 
 	/**
@@ -211,16 +212,21 @@ public class Airplane implements Vessel {
 	 * @return The CO2e emission for the whole flight
 	 */
 	public Quantity getTotalCO2e(final Quantity distance, final boolean useRFI) {
-		// TODO check if flight distance should be adjusted in here or if this is done by caller
-		Double fuelConsumption = this.getFuelConsumption(distance).getAmount();
-		if (useRFI) {
-			// multiply with rfi factor
-			fuelConsumption *= RFICalculator.getRFIFactor(distance);
-		}
-		// multiply with kerosene factor
-		final double co2e = fuelConsumption * KEROSENE_FACTOR;
-		// return result
-		return new QuantityImpl(co2e, Unit.KG_CO2E);
+		return this.getTotalCO2e(distance, getRFITable(useRFI));
+	}
+
+	/**
+	 * Calculates the complete CO2e emission for the whole flight
+	 * 
+	 * @param distance
+	 *            the distance traveled
+	 * @param rfiTable
+	 *            the RFI-factors used for the higher greenhouse potential for emission near the stratosphere, null if
+	 *            no RFI-factor should be applied
+	 * @return The CO2e emission for the whole flight
+	 */
+	public Quantity getTotalCO2e(final Quantity distance, final RFITable rfiTable) {
+		return new ImmutableQuantity(this.getTotalCO2e(distance.amountIn(Unit.KILOMETER), rfiTable), Unit.KG_CO2E);
 	}
 
 	/**
@@ -234,25 +240,169 @@ public class Airplane implements Vessel {
 	 * @return The CO2e emission per kilometer for the whole flight
 	 */
 	public Quantity getTotalCO2ePerKM(final Quantity distance, final boolean useRFI) {
-		final Double calcDistance = distance.convert(Unit.KILOMETER).getAmount();
-		final Quantity co2e = this.getTotalCO2e(distance, useRFI);
-		co2e.setAmount(co2e.getAmount() / calcDistance);
-		return co2e;
+		return this.getTotalCO2ePerKM(distance, getRFITable(useRFI));
 	}
 
 	/**
-	 * Returns the HaulDistance (cluster of distances for freight transports) for a given distance
+	 * Calculates the CO2e emission per kilometer for a flight
 	 * 
 	 * @param distance
-	 *            the real distance traveled
+	 *            The distance traveled
+	 * @param rfiTable
+	 *            the RFI-factors used for the higher greenhouse potential for emission near the stratosphere, null if
+	 *            no RFI-factor should be applied
+	 * @return The CO2e emission per kilometer for the whole flight
+	 */
+	public Quantity getTotalCO2ePerKM(final Quantity distance, final RFITable rfiTable) {
+		final double calcDistance = distance.amountIn(Unit.KILOMETER);
+		return new ImmutableQuantity(this.getTotalCO2e(calcDistance, rfiTable) / calcDistance, Unit.KG_CO2E);
+	}
+
+	/**
+	 * Calculates the CO2e emissions allocated to parts of the payload of several flights. The consumption profile and
+	 * RFI-factors are compiled once, no objects are created per flight. Ranges of a batch can be evaluated in
+	 * parallel, each element is read and written at the same index.
+	 * 
+	 * @param weights
+	 *            The weights in kilogram for which the allocations will be made
+	 * @param distances
+	 *            The distances traveled in kilometer
+	 * @param rfiTable
+	 *            the RFI-factors to be applied, null if no RFI-factor should be applied
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first flight
+	 * @param len
+	 *            The number of flights
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final RFITable rfiTable,
+			final double[] result, final int off, final int len) throws IndexOutOfBoundsException {
+		VesselBatch.checkRange(off, len, weights, distances, result);
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			result[i] = this.getCO2e(distances[i], weights[i], rfiTable);
+		}
+	}
+
+	/**
+	 * Calculates the complete CO2e emissions of several flights, see
+	 * {@link #getCO2e(double[], double[], RFITable, double[], int, int)}
+	 * 
+	 * @param distances
+	 *            The distances traveled in kilometer
+	 * @param rfiTable
+	 *            the RFI-factors to be applied, null if no RFI-factor should be applied
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first flight
+	 * @param len
+	 *            The number of flights
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getTotalCO2e(final double[] distances, final RFITable rfiTable, final double[] result,
+			final int off, final int len) throws IndexOutOfBoundsException {
+		VesselBatch.checkRange(off, len, distances, result);
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			result[i] = this.getTotalCO2e(distances[i], rfiTable);
+		}
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm of a flight over the distance of the context, applying its RFITable.
+	 * Unlike the other vessels the result depends on the distance, as take-off and landing weigh less on long flights.
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm, 0 for a distance of 0
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) {
+		final double km = context.getDistance();
+		if (km == 0) {
+			return 0d;
+		}
+		return this.getTotalCO2e(km, context.getRFITable()) / this.getTransportedWeight(km) / km;
+	}
+
+	/**
+	 * Returns the RFITable used by the methods taking a boolean useRFI
+	 * 
+	 * @param useRFI
+	 *            true if the higher greenhouse potential for emission near the stratosphere should be used
+	 * @return {@link RFITable#ECOTRANSIT_2012} if useRFI is true, null otherwise
+	 */
+	private static RFITable getRFITable(final boolean useRFI) {
+		return useRFI ? RFITable.ECOTRANSIT_2012 : null;
+	}
+
+	/**
+	 * Calculates the CO2e emission in kg allocated to a particular part of the payload for the whole flight
+	 * 
+	 * @param calcDistance
+	 *            The distance traveled in kilometer
+	 * @param calcPayload
+	 *            the weight in kilogram for which the allocation will be made
+	 * @param rfiTable
+	 *            the RFI-factors to be applied, null if no RFI-factor should be applied
+	 * @return The CO2e emission in kg allocated to the weight of payload for the whole flight
+	 */
+	private double getCO2e(final double calcDistance, final double calcPayload, final RFITable rfiTable) {
+		return this.getTotalCO2e(calcDistance, rfiTable) / this.getTransportedWeight(calcDistance) * calcPayload;
+	}
+
+	/**
+	 * Calculates the fuel consumption in kg of this Airplane based on the distance traveled in kilometer.
+	 * 
+	 * @param convDistance
+	 *            The total distance traveled for the transport in kilometer
+	 * @return The amount of fuel in kg burned by this Airplane when traveling the given distance.
+	 */
+	private double getFuelConsumption(final double convDistance) {
+		// calculates with multiple trips if distance exceeds the max range of this airplane
+		return this.specs.getFuelConsumption(convDistance);
+	}
+
+	/**
+	 * Calculates the complete CO2e emission in kg for the whole flight
+	 * 
+	 * @param calcDistance
+	 *            the distance traveled in kilometer
+	 * @param rfiTable
+	 *            the RFI-factors to be applied, null if no RFI-factor should be applied
+	 * @return The CO2e emission in kg for the whole flight
+	 */
+	private double getTotalCO2e(final double calcDistance, final RFITable rfiTable) {
+		if (this.emissionTable != null && calcDistance > 0) {
+			return this.emissionTable.getTotalCO2e(calcDistance, rfiTable);
+		}
+		// the distance is the flight distance including detours, see
+		// org.eaticious.common.co2e.distance.AirDistanceService
+		double fuelConsumption = this.getFuelConsumption(calcDistance);
+		if (rfiTable != null) {
+			// multiply with rfi factor
+			fuelConsumption *= rfiTable.getRFIFactor(calcDistance);
+		}
+		// multiply with kerosene factor
+		return fuelConsumption * KEROSENE_FACTOR;
+	}
+
+	/**
+	 * Returns the HaulDistance (cluster of distances for freight transports) for a given distance
+	 * 
+	 * @param calcDistance
+	 *            the real distance traveled in kilometer
 	 * @return The HaulDistance which matches the real distance traveled
 	 */
-	private HaulDistance getHaulDistance(final Quantity distance) {
-		if (distance.getAmount() < 0) {
-			throw new IllegalArgumentException("Distance has to be bigger than 0, was " + distance);
+	private HaulDistance getHaulDistance(final double calcDistance) {
+		if (calcDistance < 0) {
+			throw new IllegalArgumentException("Distance has to be bigger than 0, was " + calcDistance + " km");
 		}
-		
-		final Double calcDistance = distance.convert(Unit.KILOMETER).getAmount();
 
 		HaulDistance result = null;
 		for (final HaulDistance dist : HaulDistance.values()) {
@@ -268,14 +418,14 @@ public class Airplane implements Vessel {
 	 * Calculates the average payload (transported weight) in kilogram using standard capacity utilization factors for
 	 * freight and passengers
 	 * 
-	 * @param distance
-	 *            The distance traveled
+	 * @param calcDistance
+	 *            The distance traveled in kilometer
 	 * @return The average payload in kilogram for flights over the given distance
 	 */
-	private double getTransportedWeight(final Quantity distance) {
-		final HaulDistance hd = this.getHaulDistance(distance);
-		final double freightWeight = this.specs.getMaxPayload() * freightCapacityUtilization.get(hd);
-		final double passengerWeight = this.specs.getSeats() * passengerCapacityUtilization.get(hd) * PASSENGER_WEIGHT;
+	private double getTransportedWeight(final double calcDistance) {
+		final int hd = this.getHaulDistance(calcDistance).ordinal();
+		final double freightWeight = this.specs.getMaxPayload() * FREIGHT_CAPACITY_UTILIZATION[hd];
+		final double passengerWeight = this.specs.getSeats() * PASSENGER_CAPACITY_UTILIZATION[hd] * PASSENGER_WEIGHT;
 		return freightWeight + passengerWeight;
 	}
 
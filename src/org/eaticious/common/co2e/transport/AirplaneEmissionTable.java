@@ -0,0 +1,96 @@
+package org.eaticious.common.co2e.transport;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.eaticious.common.co2e.RFITable;
+import org.eaticious.common.co2e.transport.AirplaneSpecification.StandardModel;
+
+/**
+ * Precomputed total CO2e emissions without RFI of a {@link StandardModel} for every kilometer from 0 up to its maximum
+ * range. Values between two kilometers are interpolated linearly, longer distances are split into several flights as
+ * in {@link AirplaneSpecification#getFuelConsumption(double)}, so a lookup costs two array reads. RFI-factors are
+ * applied to the result using the total distance, as {@link Airplane} does.
+ *
+ * Error bound: the consumption profiles of the standard models are linear between whole kilometers, so the
+ * interpolation is exact and only the float precision of the table adds a relative error below 1e-7.
+ *
+ * A table needs 4 bytes per kilometer of range, about 50 KB for the largest model. Tables are immutable and shared,
+ * use {@link #forModel(StandardModel)} to get them.
+ */
+public final class AirplaneEmissionTable {
+
+	/**
+	 * The tables already built
+	 */
+	private static final Map<StandardModel, AirplaneEmissionTable> TABLES =
+			new EnumMap<StandardModel, AirplaneEmissionTable>(StandardModel.class);
+
+	/**
+	 * The maximum distance of a single flight in kilometer, the last index of the tables
+	 */
+	private final int maxRange;
+
+	/**
+	 * The total CO2e in kg of a flight by kilometer without RFI
+	 */
+	private final float[] co2e;
+
+	/**
+	 * Builds the table of a model
+	 *
+	 * @param model
+	 *            The model
+	 */
+	private AirplaneEmissionTable(final StandardModel model) {
+		final ConsumptionCurve curve = new ConsumptionCurve(model.getConsumptionProfile());
+		this.maxRange = model.getMaxRange();
+		this.co2e = new float[this.maxRange + 1];
+		for (int km = 1; km <= this.maxRange; km++) {
+			this.co2e[km] = (float) (curve.getFuelConsumption(km) * Airplane.KEROSENE_FACTOR);
+		}
+	}
+
+	/**
+	 * Returns the table of a model, building it on first use
+	 *
+	 * @param model
+	 *            The model
+	 * @return The shared table of the model
+	 */
+	public static AirplaneEmissionTable forModel(final StandardModel model) {
+		synchronized (TABLES) {
+			AirplaneEmissionTable result = TABLES.get(model);
+			if (result == null) {
+				result = new AirplaneEmissionTable(model);
+				TABLES.put(model, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the total CO2e of a flight
+	 *
+	 * @param distance
+	 *            The distance in kilometer, has to be bigger than 0
+	 * @param rfiTable
+	 *            The RFI-factors to be applied, null if no RFI-factor should be applied
+	 * @return The total CO2e of the flight in kg
+	 */
+	public double getTotalCO2e(final double distance, final RFITable rfiTable) {
+		final double numTrips = Math.ceil(distance / this.maxRange);
+		final double calcDist = distance / numTrips;
+		final int km = (int) calcDist;
+		double result = this.co2e[km];
+		if (km < this.maxRange) {
+			result += (this.co2e[km + 1] - result) * (calcDist - km);
+		}
+		result *= numTrips;
+		if (rfiTable != null) {
+			result *= rfiTable.getRFIFactor(distance);
+		}
+		return result;
+	}
+
+}
@@ -1,6 +1,7 @@
 package org.eaticious.common.co2e.transport;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -11,7 +12,7 @@ import java.util.Map;
  * @author Sven Peetz
  *
  */
-public class AirplaneSpecification implements Vessel {
+public class AirplaneSpecification {
 
 	/**
 	 * Cluster of Airplane sizes
@@ -130,11 +131,11 @@ public class AirplaneSpecification implements Vessel {
 
 		/**
 		 * 
-		 * @return the consumption profile of this StandardModel as a Map having distances in kilometer as keys and
-		 *         kerosene consumption in kg as value
+		 * @return the consumption profile of this StandardModel as an unmodifiable Map having distances in kilometer
+		 *         as keys and kerosene consumption in kg as value
 		 */
 		public Map<Double, Double> getConsumptionProfile() {
-			return this.consumptionProfile;
+			return Collections.unmodifiableMap(this.consumptionProfile);
 		}
 	}
 
@@ -142,6 +143,10 @@ public class AirplaneSpecification implements Vessel {
 	 * A map having distance in kilometer as key and consumption in kg kerosene as value
 	 */
 	private Map<Double, Double> consumptionProfile;
+	/**
+	 * The consumptionProfile compiled for fast evaluation, recompiled whenever the profile changes
+	 */
+	private ConsumptionCurve consumptionCurve;
 	/**
 	 * The maximum flight range of the Airplane
 	 */
@@ -170,7 +175,9 @@ public class AirplaneSpecification implements Vessel {
 		this.seats = model.getSeats();
 		this.maxPayload = model.getMaxPayload();
 		this.maxRange = model.getMaxRange();
-		this.consumptionProfile = model.getConsumptionProfile();
+		// copy to keep added entries from changing the StandardModel
+		this.consumptionProfile = new HashMap<Double, Double>(model.getConsumptionProfile());
+		this.consumptionCurve = new ConsumptionCurve(this.consumptionProfile);
 	}
 
 	/**
@@ -192,7 +199,8 @@ public class AirplaneSpecification implements Vessel {
 		this.seats = seats;
 		this.maxRange = maxRange;
 		this.maxPayload = maxPayload;
-		this.consumptionProfile = consumptionProfile;
+		this.consumptionProfile = new HashMap<Double, Double>(consumptionProfile);
+		this.consumptionCurve = new ConsumptionCurve(this.consumptionProfile);
 	}
 
 	/**
@@ -236,12 +244,34 @@ public class AirplaneSpecification implements Vessel {
 	}
 
 	/**
-	 * This returns a Map holding distances in kilometer as keys and kerosene consumption over the distance as value
+	 * This returns an unmodifiable Map holding distances in kilometer as keys and kerosene consumption over the distance
+	 * as value, use {@link #addConsumptionEntry(Double, Double)} to change it
 	 * 
 	 * @return The consumption profile of this Airplane
 	 */
 	public Map<Double, Double> getConsumptionProfile() {
-		return this.consumptionProfile;
+		return Collections.unmodifiableMap(this.consumptionProfile);
+	}
+
+	/**
+	 * Returns the compiled consumption profile of this Airplane
+	 * 
+	 * @return The consumption profile as a {@link ConsumptionCurve}
+	 */
+	public ConsumptionCurve getConsumptionCurve() {
+		return this.consumptionCurve;
+	}
+
+	/**
+	 * Calculates the fuel consumption in kg over a distance, flights exceeding the maximum range are split into several
+	 * flights of equal distance
+	 * 
+	 * @param distance
+	 *            The total distance in kilometer
+	 * @return The fuel consumption in kg, 0 if there is no consumption data
+	 */
+	public double getFuelConsumption(double distance) {
+		return this.consumptionCurve.getFuelConsumption(distance, this.maxRange);
 	}
 
 	/**
@@ -254,6 +284,7 @@ public class AirplaneSpecification implements Vessel {
 			throw new IllegalArgumentException("Parameters distance and value have to be not null and >= 0");
 		}
 		this.consumptionProfile.put(distance, value);
+		this.consumptionCurve = new ConsumptionCurve(this.consumptionProfile);
 	}
 
 }
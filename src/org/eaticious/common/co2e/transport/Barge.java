@@ -2,16 +2,16 @@ package org.eaticious.common.co2e.transport;
 
 import org.eaticious.common.FoodProduct.TransportClass;
 import org.eaticious.common.co2e.transport.BargeSpecification.BargeModel;
+import org.eaticious.common.ImmutableQuantity;
 import org.eaticious.common.PhysicalDimension;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
 
 public class Barge implements Vessel {
 	/**
 	 * The {@link BargeSpecification} of this Barge
 	 */
-	private BargeSpecification specs;
+	private final BargeSpecification specs;
 
 	/**
 	 * Constructor for Barge taking a standardized {@link BargeModel} as parameter
@@ -40,11 +40,25 @@ public class Barge implements Vessel {
 	 * @return The CO2E emission in kg per kgkm when transporting a good of {@link TransportClass} tc with this BargeSpecification
 	 */
 	public Quantity getCO2ePerKGKM(TransportClass tc, boolean useEcoTransitCorrection) {
-		Quantity result = new QuantityImpl();
-		result.setUnit(Unit.KG_CO2E);
-		Double co2e = useEcoTransitCorrection ? this.specs.getCO2eMap().get(tc) * this.specs.getEcotransitFactor() : this.specs.getCO2eMap().get(tc);
-		result.setAmount(co2e);
-		return result;
+		return new ImmutableQuantity(this.getCO2ePerKGKMValue(tc, useEcoTransitCorrection), Unit.KG_CO2E);
+	}
+
+	/**
+	 * The total calculated CO2E emission in kg of this Barge transporting a weight over a distance, without creating
+	 * any objects
+	 * 
+	 * @param kg
+	 *            The transported weight in kg
+	 * @param km
+	 *            The distance in kilometer
+	 * @param tc
+	 *            The {@link TransportClass} of the product being transported
+	 * @param ecoTransitCorrection
+	 *            true if the EcoTransIT correction factor should be applied
+	 * @return The CO2E emission in kg
+	 */
+	public double co2eKg(final double kg, final double km, final TransportClass tc, final boolean ecoTransitCorrection) {
+		return this.getCO2ePerKGKMValue(tc, ecoTransitCorrection) * km * kg;
 	}
 
 	/**
@@ -63,10 +77,62 @@ public class Barge implements Vessel {
 	 * @return The total calculated amount of CO2E emission in kg for the transport
 	 */
 	public Quantity getCO2e(Quantity distance, Quantity weight, TransportClass tc, boolean ecoTransitCorrection) {
-		Double calcDistance = distance.convert(Unit.KILOMETER).getAmount();
-		Double calcWeight = weight.convert(Unit.KILOGRAM).getAmount();
-		Double amount = this.getCO2ePerKGKM(tc, ecoTransitCorrection).getAmount() * calcDistance * calcWeight;
-		return new QuantityImpl(amount, Unit.KG_CO2E);
+		final double calcDistance = distance.amountIn(Unit.KILOMETER);
+		final double calcWeight = weight.amountIn(Unit.KILOGRAM);
+		final double amount = this.getCO2ePerKGKMValue(tc, ecoTransitCorrection) * calcDistance * calcWeight;
+		return new ImmutableQuantity(amount, Unit.KG_CO2E);
+	}
+
+	/**
+	 * Calculates the CO2e emissions of several transports of the same TransportClass. The emission per kg and
+	 * kilometer is looked up once for the batch. Ranges of a batch can be evaluated in parallel, each element is read
+	 * and written at the same index.
+	 * 
+	 * @param weights
+	 *            The transported weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @param ecoTransitCorrection
+	 *            true if the EcoTransIT correction factor should be applied
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first transport
+	 * @param len
+	 *            The number of transports
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final TransportClass tc,
+			final boolean ecoTransitCorrection, final double[] result, final int off, final int len)
+			throws IndexOutOfBoundsException {
+		VesselBatch.multiply(this.getCO2ePerKGKMValue(tc, ecoTransitCorrection), weights, distances, result, off,
+				len);
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm using the TransportClass and EcoTransIT correction of the context
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) {
+		return this.getCO2ePerKGKMValue(context.getTransportClass(), context.isEcoTransitCorrection());
+	}
+
+	/**
+	 * Returns the CO2E emission in kg per KGKM, see {@link #getCO2ePerKGKM(TransportClass, boolean)}
+	 * 
+	 * @param tc The {@link TransportClass} of the transported good
+	 * @param useEcoTransitCorrection true if the EcoTransIT correction factor should be applied
+	 * @return The CO2E emission in kg per kgkm
+	 */
+	private double getCO2ePerKGKMValue(TransportClass tc, boolean useEcoTransitCorrection) {
+		return this.specs.getCO2ePerKGKM(tc, useEcoTransitCorrection);
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.eaticious.common.co2e.transport;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 import org.eaticious.common.FoodProduct.TransportClass;
@@ -102,12 +103,17 @@ public class BargeSpecification {
 	 * A {@link Map} holding {@link TransportClass} as key and CO2E emission values in kg per kgkm for the
 	 * TransportClass
 	 */
-	private Map<TransportClass, Double> co2eMap;
+	private final Map<TransportClass, Double> co2eMap;
 	/**
 	 * The factor to be applied to the calculated CO2E emission in order to get a value that matches closer to the
 	 * EcoTransIT value when using this model
 	 */
-	private Double ecotransitFactor;
+	private final Double ecotransitFactor;
+	/**
+	 * The CO2E emission values in kg per kgkm indexed by the ordinal of the {@link TransportClass} and 0 without or 1
+	 * with EcoTransIT correction. UNKNOWN uses the values of AVERAGE as {@link BargeModel#getCO2ePerKGKM} does.
+	 */
+	private final double[][] co2eTable;
 
 	/**
 	 * Constructor taking a {@link BargeModel} as parameter
@@ -134,11 +140,17 @@ public class BargeSpecification {
 	 *            to the EcoTransIT value when using this model
 	 */
 	public BargeSpecification(Double co2eBulk, Double co2eAvg, Double co2eVolume, Double ecotransitFactor) {
-		this.co2eMap = new HashMap<TransportClass, Double>();
-		co2eMap.put(TransportClass.BULK, co2eBulk);
-		co2eMap.put(TransportClass.AVERAGE, co2eAvg);
-		co2eMap.put(TransportClass.VOLUME, co2eVolume);
+		final Map<TransportClass, Double> map = new EnumMap<TransportClass, Double>(TransportClass.class);
+		map.put(TransportClass.BULK, co2eBulk);
+		map.put(TransportClass.AVERAGE, co2eAvg);
+		map.put(TransportClass.VOLUME, co2eVolume);
+		this.co2eMap = Collections.unmodifiableMap(map);
 		this.ecotransitFactor = ecotransitFactor;
+		this.co2eTable = new double[TransportClass.values().length][];
+		for (final TransportClass tc : TransportClass.values()) {
+			final Double co2e = map.containsKey(tc) ? map.get(tc) : co2eAvg;
+			this.co2eTable[tc.ordinal()] = new double[] { co2e, co2e * ecotransitFactor };
+		}
 	}
 
 	/**
@@ -152,11 +164,24 @@ public class BargeSpecification {
 
 	/**
 	 * 
-	 * @return A {@link Map} holding {@link TransportClass} as key and CO2E emission values in kg per kgkm for the
-	 *         TransportClass
+	 * @return An unmodifiable {@link Map} holding {@link TransportClass} as key and CO2E emission values in kg per kgkm
+	 *         for the TransportClass
 	 */
 	public Map<TransportClass, Double> getCO2eMap() {
 		return this.co2eMap;
 	}
 
+	/**
+	 * Returns the CO2E emission in kg per kgkm for a {@link TransportClass}, UNKNOWN is treated as AVERAGE
+	 * 
+	 * @param tc
+	 *            The TransportClass of the transported goods
+	 * @param useEcoTransitCorrection
+	 *            true if the EcoTransIT correction factor should be applied
+	 * @return The CO2E emission in kg per kgkm
+	 */
+	public double getCO2ePerKGKM(final TransportClass tc, final boolean useEcoTransitCorrection) {
+		return this.co2eTable[tc.ordinal()][useEcoTransitCorrection ? 1 : 0];
+	}
+
 }
@@ -1,9 +1,9 @@
 package org.eaticious.common.co2e.transport;
 
 import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.ImmutableQuantity;
 import org.eaticious.common.PhysicalDimension;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
 
 public class CargoShip implements Vessel {
@@ -50,6 +50,38 @@ public class CargoShip implements Vessel {
 	 */
 	private static final Double KGCO2ePerTEUKM = 0.168;
 
+	/**
+	 * The CO2E emission in kg per kgkm indexed by the ordinals of {@link TransportClass} and {@link ShippingRoute}
+	 */
+	private static final double[][] CO2E_TABLE = new double[TransportClass.values().length][ShippingRoute
+			.values().length];
+
+	static {
+		for (final TransportClass tc : TransportClass.values()) {
+			for (final ShippingRoute route : ShippingRoute.values()) {
+				CO2E_TABLE[tc.ordinal()][route.ordinal()] = KGCO2ePerTEUKM * route.getEmissionFactor()
+						/ (tc.getTonsPerTEUKM() * 1000d);
+			}
+		}
+	}
+
+	/**
+	 * Returns the CO2E emission in kg of a transport, without creating any objects
+	 * 
+	 * @param kg
+	 *            The weight of the transported good in kg
+	 * @param km
+	 *            The distance of the transport in kilometer
+	 * @param tc
+	 *            The {@link TransportClass} of the transported good
+	 * @param route
+	 *            The {@link ShippingRoute} of the transport
+	 * @return The CO2E emission in kg allocated by distance and weight
+	 */
+	public double co2eKg(final double kg, final double km, final TransportClass tc, final ShippingRoute route) {
+		return this.getCO2ePerKGKMValue(tc, route) * (km * kg);
+	}
+
 	/**
 	 * Returns the CO2E emission in kg in dependence of the weight of the transported good as a {@link Quantity} with
 	 * {@link PhysicalDimension} MASS, the {@link TransportClass} of the transported good, the distance of the transport
@@ -66,11 +98,8 @@ public class CargoShip implements Vessel {
 	 * @return The CO2E emission for the transport allocated by distance and weight
 	 */
 	public Quantity getCO2e(Quantity weight, TransportClass tc, Quantity distance, ShippingRoute route) {
-		final Double factor = distance.convert(Unit.KILOMETER).getAmount() * weight.convert(Unit.KILOGRAM).getAmount();
-		final Quantity co2e = this.getCO2ePerKGKM(tc, route);
-		co2e.setAmount(co2e.getAmount() * factor);
-
-		return co2e;
+		final double factor = distance.amountIn(Unit.KILOMETER) * weight.amountIn(Unit.KILOGRAM);
+		return new ImmutableQuantity(this.getCO2ePerKGKMValue(tc, route) * factor, Unit.KG_CO2E);
 	}
 
 	/**
@@ -84,8 +113,60 @@ public class CargoShip implements Vessel {
 	 * @return The CO2E emission in kg per kgkm for the transport
 	 */
 	public Quantity getCO2ePerKGKM(TransportClass tc, ShippingRoute route) {
-		final Double co2ePerKGKM = KGCO2ePerTEUKM * route.getEmissionFactor() / (tc.getTonsPerTEUKM() * 1000d);
-		return new QuantityImpl(co2ePerKGKM, Unit.KG_CO2E);
+		return new ImmutableQuantity(this.getCO2ePerKGKMValue(tc, route), Unit.KG_CO2E);
+	}
+
+	/**
+	 * Calculates the CO2e emissions of several transports of the same TransportClass on the same ShippingRoute. The
+	 * emission per kg and kilometer is computed once for the batch. Ranges of a batch can be evaluated in parallel,
+	 * each element is read and written at the same index.
+	 * 
+	 * @param weights
+	 *            The transported weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @param route
+	 *            The ShippingRoute of the transports
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first transport
+	 * @param len
+	 *            The number of transports
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final TransportClass tc,
+			final ShippingRoute route, final double[] result, final int off, final int len)
+			throws IndexOutOfBoundsException {
+		VesselBatch.multiply(this.getCO2ePerKGKMValue(tc, route), weights, distances, result, off, len);
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm using the TransportClass and ShippingRoute of the context
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) {
+		return this.getCO2ePerKGKMValue(context.getTransportClass(), context.getShippingRoute());
+	}
+
+	/**
+	 * Returns the CO2E emission in kg per kgkm, see {@link #getCO2ePerKGKM(TransportClass, ShippingRoute)}
+	 * 
+	 * @param tc
+	 *            The {@link TransportClass} of the transported good
+	 * @param route
+	 *            The {@link ShippingRoute} of the transport
+	 * @return The CO2E emission in kg per kgkm for the transport
+	 */
+	private double getCO2ePerKGKMValue(TransportClass tc, ShippingRoute route) {
+		return CO2E_TABLE[tc.ordinal()][route.ordinal()];
 	}
 
 }
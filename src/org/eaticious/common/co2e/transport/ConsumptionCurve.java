@@ -0,0 +1,108 @@
+package org.eaticious.common.co2e.transport;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A fuel consumption profile compiled into sorted primitive arrays with precomputed slopes. Between two distances of
+ * the profile the consumption is interpolated linearly, below the smallest and above the largest distance it is
+ * extrapolated proportionally to the distance, as EcoTransIT does.
+ *
+ * Instances are immutable, changes of a profile require a new ConsumptionCurve.
+ */
+public final class ConsumptionCurve {
+
+	/**
+	 * The distances in kilometer in ascending order
+	 */
+	private final double[] distances;
+
+	/**
+	 * The fuel consumptions in kg over the distances
+	 */
+	private final double[] fuels;
+
+	/**
+	 * The slope between a distance and the next one, the last entry is unused
+	 */
+	private final double[] slopes;
+
+	/**
+	 * Compiles a consumption profile
+	 *
+	 * @param profile
+	 *            The profile having distances in kilometer as key and fuel consumption in kg as value
+	 */
+	public ConsumptionCurve(final Map<Double, Double> profile) {
+		final int size = profile.size();
+		this.distances = new double[size];
+		int i = 0;
+		for (final Double distance : profile.keySet()) {
+			this.distances[i++] = distance;
+		}
+		Arrays.sort(this.distances);
+		this.fuels = new double[size];
+		for (i = 0; i < size; i++) {
+			this.fuels[i] = profile.get(this.distances[i]);
+		}
+		this.slopes = new double[size];
+		for (i = 0; i < size - 1; i++) {
+			this.slopes[i] = (this.fuels[i + 1] - this.fuels[i]) / (this.distances[i + 1] - this.distances[i]);
+		}
+	}
+
+	/**
+	 * Returns true if the profile holds no data
+	 *
+	 * @return true if the profile is empty
+	 */
+	public boolean isEmpty() {
+		return this.distances.length == 0;
+	}
+
+	/**
+	 * Returns the fuel consumption of a single flight
+	 *
+	 * @param calcDist
+	 *            The distance of the flight in kilometer
+	 * @return The fuel consumption in kg, 0 if the profile is empty
+	 */
+	public double getFuelConsumption(final double calcDist) {
+		final int size = this.distances.length;
+		if (size == 0) {
+			return 0d;
+		}
+		final int index = Arrays.binarySearch(this.distances, calcDist);
+		if (index >= 0) {
+			return this.fuels[index];
+		}
+		// index of the first distance bigger than calcDist
+		final int insertion = -index - 1;
+		if (insertion == 0) {
+			// distance is below all distances of the profile, linear interpolation
+			return calcDist * this.fuels[0] / this.distances[0];
+		}
+		final int lower = insertion - 1;
+		if (insertion == size) {
+			// distance is above all distances of the profile, linear interpolation
+			return calcDist * this.fuels[lower] / this.distances[lower];
+		}
+		return this.fuels[lower] + (calcDist - this.distances[lower]) * this.slopes[lower];
+	}
+
+	/**
+	 * Returns the fuel consumption over a distance, split into several equal flights if it exceeds the maximum range
+	 *
+	 * @param distance
+	 *            The total distance in kilometer
+	 * @param maxRange
+	 *            The maximum distance of a single flight in kilometer
+	 * @return The fuel consumption in kg of all flights
+	 */
+	public double getFuelConsumption(final double distance, final double maxRange) {
+		final double numTrips = Math.ceil(distance / maxRange);
+		final double calcDist = distance / numTrips;
+		return this.getFuelConsumption(calcDist) * numTrips;
+	}
+
+}
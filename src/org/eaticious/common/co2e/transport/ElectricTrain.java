@@ -1,42 +1,47 @@
 package org.eaticious.common.co2e.transport;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 import org.eaticious.common.FoodProduct.TransportClass;
 import org.eaticious.common.RegionSpecification.Landscape;
 import org.eaticious.common.co2e.transport.ElectricTrainSpecification.TrainModel;
+import org.eaticious.common.ImmutableQuantity;
 import org.eaticious.common.PhysicalDimension;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
 
 public class ElectricTrain implements Vessel {
 	/**
 	 * A {@link Map} holding {@link Landscape} as key and according fuel consumption factors as value
 	 */
-	public final static Map<Landscape, Double> landscapeFactor = new HashMap<Landscape, Double>();
+	public final static Map<Landscape, Double> landscapeFactor;
 	/**
 	 * A {@link Map} holding {@link TransportClass} as key and according fuel consumption factors as value
 	 */
-	public final static Map<TransportClass, Double> transportClassFactor = new HashMap<TransportClass, Double>();
+	public final static Map<TransportClass, Double> transportClassFactor;
 
 	static {
+		// values from EcoTransIT, unmodifiable as they are compiled into the trains
+		final Map<Landscape, Double> landscapes = new EnumMap<Landscape, Double>(Landscape.class);
+		landscapes.put(Landscape.FLAT, 0.9);
+		landscapes.put(Landscape.HILL, 1.0);
+		landscapes.put(Landscape.MOUNTAIN, 1.1);
+		landscapeFactor = Collections.unmodifiableMap(landscapes);
 		// values from EcoTransIT
-		landscapeFactor.put(Landscape.FLAT, 0.9);
-		landscapeFactor.put(Landscape.HILL, 1.0);
-		landscapeFactor.put(Landscape.MOUNTAIN, 1.1);
-		// values from EcoTransIT
-		transportClassFactor.put(TransportClass.BULK, 0.6);
-		transportClassFactor.put(TransportClass.AVERAGE, 0.52);
-		transportClassFactor.put(TransportClass.VOLUME, 0.4);
-		transportClassFactor.put(TransportClass.UNKNOWN, 0.52);
+		final Map<TransportClass, Double> transportClasses = new EnumMap<TransportClass, Double>(TransportClass.class);
+		transportClasses.put(TransportClass.BULK, 0.6);
+		transportClasses.put(TransportClass.AVERAGE, 0.52);
+		transportClasses.put(TransportClass.VOLUME, 0.4);
+		transportClasses.put(TransportClass.UNKNOWN, 0.52);
+		transportClassFactor = Collections.unmodifiableMap(transportClasses);
 	}
 
 	/**
-	 * The specification of the truck
+	 * The energy consumption in kWh per kgkm indexed by the ordinals of {@link Landscape} and {@link TransportClass}
 	 */
-	private ElectricTrainSpecification specs;
+	private final double[][] consumption;
 
 	/**
 	 * Constructor initializing an ElectricTrain by using a {@link TrainModel}
@@ -55,7 +60,16 @@ public class ElectricTrain implements Vessel {
 	 *            The {@link ElectricTrainSpecification} used to initialize
 	 */
 	public ElectricTrain(ElectricTrainSpecification specs) {
-		this.specs = specs;
+		final double gtwFactor = 0.0012 * Math.pow(specs.getGTW(), -0.62);
+		final Landscape[] landscapes = Landscape.values();
+		final TransportClass[] transportClasses = TransportClass.values();
+		this.consumption = new double[landscapes.length][transportClasses.length];
+		for (final Landscape landscape : landscapes) {
+			for (final TransportClass tc : transportClasses) {
+				this.consumption[landscape.ordinal()][tc.ordinal()] = gtwFactor * getLandscapeFactor(landscape)
+						/ getTransportClassFactor(tc);
+			}
+		}
 	}
 
 	/**
@@ -69,16 +83,7 @@ public class ElectricTrain implements Vessel {
 	 *         {@link Landscape}
 	 */
 	public Quantity getFuelConsumptionPerKGKM(final Landscape landscape, final TransportClass tc) {
-		final Quantity result = new QuantityImpl();
-		result.setUnit(Unit.KILOWATTHOUR);
-
-		final double lsFactor = getLandscapeFactor(landscape);
-		final double tcFactor = getTransportClassFactor(tc);
-
-		final double value = 0.0012 * Math.pow(this.specs.getGTW(), -0.62) * lsFactor / tcFactor;
-		result.setAmount(value);
-
-		return result;
+		return new ImmutableQuantity(this.getFuelConsumptionValue(landscape, tc), Unit.KILOWATTHOUR);
 	}
 
 	/**
@@ -94,8 +99,8 @@ public class ElectricTrain implements Vessel {
 	 * @return The mean CO2E emission in kg per kgkm for the transport
 	 */
 	public Quantity getCO2ePerKGKM(Double energyMixFactor, Landscape landscape, TransportClass tc) {
-		Double amount = this.getFuelConsumptionPerKGKM(landscape, tc).getAmount() * energyMixFactor;
-		return new QuantityImpl(amount, Unit.KG_CO2E);
+		final double amount = this.getFuelConsumptionValue(landscape, tc) * energyMixFactor;
+		return new ImmutableQuantity(amount, Unit.KG_CO2E);
 	}
 
 	/**
@@ -113,9 +118,9 @@ public class ElectricTrain implements Vessel {
 	 * @return The mean CO2E emission in kg per kg of transported good for the transport
 	 */
 	public Quantity getCO2ePerKG(Quantity distance, Double energyMixFactor, Landscape landscape, TransportClass tc) {
-		Double calcDist = distance.convert(Unit.KILOMETER).getAmount();
-		Double amount = this.getFuelConsumptionPerKGKM(landscape, tc).getAmount() * energyMixFactor * calcDist;
-		return new QuantityImpl(amount, Unit.KG_CO2E);
+		final double calcDist = distance.amountIn(Unit.KILOMETER);
+		final double amount = this.getFuelConsumptionValue(landscape, tc) * energyMixFactor * calcDist;
+		return new ImmutableQuantity(amount, Unit.KG_CO2E);
 	}
 
 	/**
@@ -136,11 +141,72 @@ public class ElectricTrain implements Vessel {
 	 */
 	public Quantity getCO2e(Quantity weight, Quantity distance, Double energyMixFactor, Landscape landscape,
 			TransportClass tc) {
-		Double calcDist = distance.convert(Unit.KILOMETER).getAmount();
-		Double calcWeight = weight.convert(Unit.KILOGRAM).getAmount();
-		Double amount = this.getFuelConsumptionPerKGKM(landscape, tc).getAmount() * energyMixFactor * calcDist
-				* calcWeight;
-		return new QuantityImpl(amount, Unit.KG_CO2E);
+		final double calcDist = distance.amountIn(Unit.KILOMETER);
+		final double calcWeight = weight.amountIn(Unit.KILOGRAM);
+		final double amount = this.getFuelConsumptionValue(landscape, tc) * energyMixFactor * calcDist * calcWeight;
+		return new ImmutableQuantity(amount, Unit.KG_CO2E);
+	}
+
+	/**
+	 * Calculates the CO2e emissions of several transports sharing energy mix, landscape and TransportClass. The
+	 * emission per kg and kilometer is computed once for the batch. Ranges of a batch can be evaluated in parallel,
+	 * each element is read and written at the same index.
+	 * 
+	 * @param weights
+	 *            The transported weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param energyMixFactor
+	 *            The CO2e in kg per kWh of the energy mix
+	 * @param landscape
+	 *            The Landscape of the transports
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first transport
+	 * @param len
+	 *            The number of transports
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final double energyMixFactor,
+			final Landscape landscape, final TransportClass tc, final double[] result, final int off, final int len)
+			throws IndexOutOfBoundsException {
+		final double factor = this.getFuelConsumptionValue(landscape, tc) * energyMixFactor;
+		VesselBatch.multiply(factor, weights, distances, result, off, len);
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm using the Landscape, energy mix and TransportClass of the context
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm
+	 * @throws IllegalArgumentException
+	 *             if the context lacks a Landscape
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) throws IllegalArgumentException {
+		if (context.getLandscape() == null) {
+			throw new IllegalArgumentException("Landscape of rail segment is missing");
+		}
+		return this.getFuelConsumptionValue(context.getLandscape(), context.getTransportClass())
+				* context.getEnergyMixFactor();
+	}
+
+	/**
+	 * Returns the fuel consumption in kWh per kgkm, see {@link #getFuelConsumptionPerKGKM(Landscape, TransportClass)}
+	 * 
+	 * @param landscape
+	 *            The {@link Landscape} in which the Electrictrain is used
+	 * @param tc
+	 *            The {@link TransportClass} of the goods transported
+	 * @return The fuel consumption in kWh per kgkm
+	 */
+	private double getFuelConsumptionValue(final Landscape landscape, final TransportClass tc) {
+		return this.consumption[landscape.ordinal()][tc.ordinal()];
 	}
 
 	/**
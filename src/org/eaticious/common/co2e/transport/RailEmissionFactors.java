@@ -0,0 +1,127 @@
+package org.eaticious.common.co2e.transport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eaticious.common.EmissionFactor;
+import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Region;
+import org.eaticious.common.RegionSpecification;
+import org.eaticious.common.Unit;
+
+/**
+ * Caches the CO2e emissions in kg per kgkm of {@link ElectricTrain} transports within a {@link Region} by
+ * {@link TransportClass}. The train is taken from the gross ton weight of the {@link RegionSpecification}, the
+ * landscape from the RegionSpecification and the energy mix from the {@link EmissionFactor} of the region, so a rail
+ * leg costs one lookup and one multiply.
+ *
+ * Regions are cached by their equals and hashCode, which is identity for most implementations of Region, so pass
+ * the same instance for the same region. The cache does not notice changes of the regions and is never evicted by
+ * itself, its owner calls {@link #invalidate(Region)} or {@link #clear()} after changing a specification or emission
+ * factor. The cache may be shared between threads.
+ */
+public class RailEmissionFactors {
+
+	/**
+	 * The CO2e in kg per kgkm of the regions indexed by the ordinal of {@link TransportClass}
+	 */
+	private final Map<Region, double[]> factors = new ConcurrentHashMap<Region, double[]>();
+
+	/**
+	 * The trains by gross ton weight
+	 */
+	private final Map<Integer, ElectricTrain> trains = new ConcurrentHashMap<Integer, ElectricTrain>();
+
+	/**
+	 * Returns the CO2e emission of a rail transport within a region
+	 *
+	 * @param region
+	 *            The region
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @param kg
+	 *            The transported weight in kg
+	 * @param km
+	 *            The distance in kilometer
+	 * @return The CO2e emission in kg
+	 * @throws IllegalArgumentException
+	 *             if the region lacks a RegionSpecification, a Landscape or an EmissionFactor
+	 */
+	public double co2eKg(final Region region, final TransportClass tc, final double kg, final double km)
+			throws IllegalArgumentException {
+		return this.getCO2ePerKGKM(region, tc) * kg * km;
+	}
+
+	/**
+	 * Returns the CO2e emission per kgkm of rail transports within a region
+	 *
+	 * @param region
+	 *            The region
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @return The CO2e emission in kg per kgkm
+	 * @throws IllegalArgumentException
+	 *             if the region lacks a RegionSpecification, a Landscape or an EmissionFactor
+	 */
+	public double getCO2ePerKGKM(final Region region, final TransportClass tc)
+			throws IllegalArgumentException {
+		double[] result = this.factors.get(region);
+		if (result == null) {
+			// computing twice in a race is harmless
+			result = this.compute(region);
+			this.factors.put(region, result);
+		}
+		return result[tc.ordinal()];
+	}
+
+	/**
+	 * Removes the cached factors of a region
+	 *
+	 * @param region
+	 *            The region
+	 */
+	public void invalidate(final Region region) {
+		this.factors.remove(region);
+	}
+
+	/**
+	 * Removes the cached factors of all regions
+	 */
+	public void clear() {
+		this.factors.clear();
+	}
+
+	/**
+	 * Computes the factors of a region
+	 *
+	 * @param region
+	 *            The region
+	 * @return The CO2e in kg per kgkm indexed by the ordinal of {@link TransportClass}
+	 * @throws IllegalArgumentException
+	 *             if the region lacks a RegionSpecification, a Landscape or an EmissionFactor
+	 */
+	private double[] compute(final Region region) throws IllegalArgumentException {
+		final RegionSpecification specification = region.getRegionSpecification();
+		final EmissionFactor emissionFactor = region.getEmissionFactor();
+		if (specification == null || specification.getLandscape() == null || emissionFactor == null) {
+			throw new IllegalArgumentException("Region " + region
+					+ " needs a RegionSpecification with Landscape and an EmissionFactor");
+		}
+		final Integer gtw = specification.getTrainGTW();
+		ElectricTrain train = this.trains.get(gtw);
+		if (train == null) {
+			train = new ElectricTrain(new ElectricTrainSpecification(gtw));
+			this.trains.put(gtw, train);
+		}
+		final double energyMixFactor = emissionFactor.calcCO2e(new QuantityImpl(1d, Unit.KILOWATTHOUR)).getAmount();
+		final TransportClass[] transportClasses = TransportClass.values();
+		final double[] result = new double[transportClasses.length];
+		for (final TransportClass tc : transportClasses) {
+			result[tc.ordinal()] = train.getCO2ePerKGKM(energyMixFactor, specification.getLandscape(), tc)
+					.getAmount();
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,230 @@
+package org.eaticious.common.co2e.transport;
+
+import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.RegionSpecification.Landscape;
+import org.eaticious.common.co2e.RFITable;
+import org.eaticious.common.co2e.transport.CargoShip.ShippingRoute;
+
+/**
+ * The parameters of one segment of a transport route passed to {@link Vessel#kgCO2ePerKgKm(SegmentContext)}. Each
+ * vessel reads the parameters it depends on and ignores the others, so one context can be reused for all segments of
+ * a route by calling {@link #reset()} before filling in the next segment.
+ *
+ * Contexts are mutable and must not be shared between threads.
+ */
+public class SegmentContext {
+
+	/**
+	 * The distance in kilometer
+	 */
+	private double distance;
+
+	/**
+	 * The TransportClass of the goods, used by ElectricTrain, Barge and CargoShip
+	 */
+	private TransportClass transportClass;
+
+	/**
+	 * The Landscape of the region, used by ElectricTrain
+	 */
+	private Landscape landscape;
+
+	/**
+	 * The CO2e in kg per kWh of the energy mix of the region, used by ElectricTrain
+	 */
+	private double energyMixFactor;
+
+	/**
+	 * The RFI-factors, null if no RFI-factor should be applied, used by Airplane
+	 */
+	private RFITable rfiTable;
+
+	/**
+	 * The load factor between 0.0 and 1.0, used by Truck and TruckFleet
+	 */
+	private double loadFactor;
+
+	/**
+	 * The empty-trip-factor between 0.0 and 1.0, used by Truck and TruckFleet
+	 */
+	private double emptyTripFactor;
+
+	/**
+	 * The ShippingRoute, used by CargoShip
+	 */
+	private ShippingRoute shippingRoute;
+
+	/**
+	 * true if the EcoTransIT correction should be applied, used by Barge
+	 */
+	private boolean ecoTransitCorrection;
+
+	/**
+	 * Constructs a context holding the defaults, see {@link #reset()}
+	 */
+	public SegmentContext() {
+		this.reset();
+	}
+
+	/**
+	 * Resets all parameters to their defaults: distance 0, TransportClass UNKNOWN, no Landscape, energy mix 0, no RFI,
+	 * load factor 1.0 and no empty trips, ShippingRoute GLOBAL_AVERAGE and no EcoTransIT correction
+	 */
+	public void reset() {
+		this.distance = 0d;
+		this.transportClass = TransportClass.UNKNOWN;
+		this.landscape = null;
+		this.energyMixFactor = 0d;
+		this.rfiTable = null;
+		this.loadFactor = 1d;
+		this.emptyTripFactor = 0d;
+		this.shippingRoute = ShippingRoute.GLOBAL_AVERAGE;
+		this.ecoTransitCorrection = false;
+	}
+
+	/**
+	 * @return The distance in kilometer
+	 */
+	public double getDistance() {
+		return this.distance;
+	}
+
+	/**
+	 * @param distance
+	 *            The distance in kilometer
+	 */
+	public void setDistance(final double distance) {
+		this.distance = distance;
+	}
+
+	/**
+	 * @return The TransportClass of the goods
+	 */
+	public TransportClass getTransportClass() {
+		return this.transportClass;
+	}
+
+	/**
+	 * @param transportClass
+	 *            The TransportClass of the goods
+	 */
+	public void setTransportClass(final TransportClass transportClass) {
+		this.transportClass = transportClass;
+	}
+
+	/**
+	 * @return The Landscape of the region, null if not set
+	 */
+	public Landscape getLandscape() {
+		return this.landscape;
+	}
+
+	/**
+	 * @param landscape
+	 *            The Landscape of the region
+	 */
+	public void setLandscape(final Landscape landscape) {
+		this.landscape = landscape;
+	}
+
+	/**
+	 * @return The CO2e in kg per kWh of the energy mix
+	 */
+	public double getEnergyMixFactor() {
+		return this.energyMixFactor;
+	}
+
+	/**
+	 * @param energyMixFactor
+	 *            The CO2e in kg per kWh of the energy mix
+	 */
+	public void setEnergyMixFactor(final double energyMixFactor) {
+		this.energyMixFactor = energyMixFactor;
+	}
+
+	/**
+	 * @return The RFI-factors, null if no RFI-factor should be applied
+	 */
+	public RFITable getRFITable() {
+		return this.rfiTable;
+	}
+
+	/**
+	 * @param rfiTable
+	 *            The RFI-factors, null if no RFI-factor should be applied
+	 */
+	public void setRFITable(final RFITable rfiTable) {
+		this.rfiTable = rfiTable;
+	}
+
+	/**
+	 * Applies the default RFI-factors or none
+	 * 
+	 * @param useRFI
+	 *            true if the higher greenhouse potential for emission near the stratosphere should be used
+	 */
+	public void setUseRFI(final boolean useRFI) {
+		this.rfiTable = useRFI ? RFITable.ECOTRANSIT_2012 : null;
+	}
+
+	/**
+	 * @return The load factor between 0.0 and 1.0
+	 */
+	public double getLoadFactor() {
+		return this.loadFactor;
+	}
+
+	/**
+	 * @param loadFactor
+	 *            The load factor between 0.0 and 1.0
+	 */
+	public void setLoadFactor(final double loadFactor) {
+		this.loadFactor = loadFactor;
+	}
+
+	/**
+	 * @return The empty-trip-factor between 0.0 and 1.0
+	 */
+	public double getEmptyTripFactor() {
+		return this.emptyTripFactor;
+	}
+
+	/**
+	 * @param emptyTripFactor
+	 *            The empty-trip-factor between 0.0 and 1.0
+	 */
+	public void setEmptyTripFactor(final double emptyTripFactor) {
+		this.emptyTripFactor = emptyTripFactor;
+	}
+
+	/**
+	 * @return The ShippingRoute
+	 */
+	public ShippingRoute getShippingRoute() {
+		return this.shippingRoute;
+	}
+
+	/**
+	 * @param shippingRoute
+	 *            The ShippingRoute
+	 */
+	public void setShippingRoute(final ShippingRoute shippingRoute) {
+		this.shippingRoute = shippingRoute;
+	}
+
+	/**
+	 * @return true if the EcoTransIT correction should be applied
+	 */
+	public boolean isEcoTransitCorrection() {
+		return this.ecoTransitCorrection;
+	}
+
+	/**
+	 * @param ecoTransitCorrection
+	 *            true if the EcoTransIT correction should be applied
+	 */
+	public void setEcoTransitCorrection(final boolean ecoTransitCorrection) {
+		this.ecoTransitCorrection = ecoTransitCorrection;
+	}
+
+}
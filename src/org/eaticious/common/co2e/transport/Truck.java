@@ -1,7 +1,7 @@
 package org.eaticious.common.co2e.transport;
 
+import org.eaticious.common.ImmutableQuantity;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
 import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
 
@@ -22,7 +22,27 @@ public class Truck implements Vessel {
 	/**
 	 * The specification of the truck
 	 */
-	private TruckSpecification specs;
+	private final TruckSpecification specs;
+
+	/**
+	 * The CO2e emission in kg per km of the empty truck
+	 */
+	private final double emptyCO2ePerKM;
+
+	/**
+	 * The additional CO2e emission in kg per km of the fully utilized truck
+	 */
+	private final double loadCO2ePerKM;
+
+	/**
+	 * {@link #emptyCO2ePerKM} per kg of payload capacity
+	 */
+	private final double emptyCO2ePerKGKM;
+
+	/**
+	 * {@link #loadCO2ePerKM} per kg of payload capacity
+	 */
+	private final double loadCO2ePerKGKM;
 
 	/**
 	 * Constructor taking a {@link TruckModel} to setup the specification
@@ -38,6 +58,49 @@ public class Truck implements Vessel {
 	 */
 	public Truck(TruckSpecification specs) {
 		this.specs = specs;
+		// the fuel consumption is linear in the capacity utilization, so the emission reduces to two coefficients
+		final double co2ePerLiter = FUEL_CONSUMPTION_FACTOR / 100.0 * CO2E_PER_LITER_DIESEL;
+		final double consumptionEmpty = specs.getFuelConsumptionEmpty();
+		final double payloadCapacity = specs.getPayloadCapacity();
+		this.emptyCO2ePerKM = consumptionEmpty * co2ePerLiter;
+		this.loadCO2ePerKM = (specs.getFuelConsumptionFull() - consumptionEmpty) * co2ePerLiter;
+		this.emptyCO2ePerKGKM = this.emptyCO2ePerKM / payloadCapacity;
+		this.loadCO2ePerKGKM = this.loadCO2ePerKM / payloadCapacity;
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per km of the empty truck per kg of payload capacity
+	 * 
+	 * @return The CO2e emission in kg per km and kg of payload capacity
+	 */
+	double getEmptyCO2ePerKGKM() {
+		return this.emptyCO2ePerKGKM;
+	}
+
+	/**
+	 * Returns the additional CO2e emission in kg per km of the fully utilized truck per kg of payload capacity
+	 * 
+	 * @return The CO2e emission in kg per km and kg of payload capacity
+	 */
+	double getLoadCO2ePerKGKM() {
+		return this.loadCO2ePerKGKM;
+	}
+
+	/**
+	 * Returns the CO2e emission allocated to a weight transported by this truck, without creating any objects
+	 * 
+	 * @param kg
+	 *            The transported weight in kg
+	 * @param km
+	 *            The distance in kilometer
+	 * @param loadFactor
+	 *            the loadFactor, between 0.0 and 1.0 indicating the percentage of the payloadcapacity used
+	 * @param emptyTripFactor
+	 *            a factor between 0.0 and 1.0, percentage of empty return trips
+	 * @return The CO2e emission in kg
+	 */
+	public double co2eKg(final double kg, final double km, final double loadFactor, final double emptyTripFactor) {
+		return this.getCO2ePerKM(kg, loadFactor, emptyTripFactor) * km;
 	}
 
 	/**
@@ -53,9 +116,8 @@ public class Truck implements Vessel {
 	 * @return The average CO2e emission of this truck when used as described by parameters
 	 */
 	public Quantity getTotalCO2e(Double distance, Double loadFactor, Double emptyTripFactor) {
-		Quantity co2e = this.getTotalCO2ePerKM(loadFactor, emptyTripFactor);
-		co2e.setAmount(co2e.getAmount() * distance);
-		return co2e;
+		final double co2e = this.getTotalCO2ePerKM(loadFactor.doubleValue(), emptyTripFactor.doubleValue()) * distance;
+		return new ImmutableQuantity(co2e, Unit.KG_CO2E);
 	}
 
 	/**
@@ -69,8 +131,8 @@ public class Truck implements Vessel {
 	 * @return The average CO2e emission of this truck when used as described by parameters
 	 */
 	public Quantity getTotalCO2ePerKM(Double loadFactor, Double emptyTripFactor) {
-		Double co2e = this.getFuelConsumption(loadFactor, emptyTripFactor).getAmount() / 100.0 * CO2E_PER_LITER_DIESEL;
-		return new QuantityImpl(co2e, Unit.KG_CO2E);
+		final double co2e = this.getTotalCO2ePerKM(loadFactor.doubleValue(), emptyTripFactor.doubleValue());
+		return new ImmutableQuantity(co2e, Unit.KG_CO2E);
 	}
 
 	/**
@@ -85,9 +147,9 @@ public class Truck implements Vessel {
 	 * @return The CO2e emissions of the whole trip allocated to the weight of a transported good
 	 */
 	public Quantity getCO2e(Quantity weight, Double distance, Double loadFactor, Double emptyTripFactor) {
-		Quantity co2e = this.getCO2ePerKM(weight, loadFactor, emptyTripFactor);
-		co2e.setAmount(co2e.getAmount() * distance);
-		return co2e;
+		final double co2e = this.getCO2ePerKM(weight.amountIn(Unit.KILOGRAM), loadFactor.doubleValue(),
+				emptyTripFactor.doubleValue()) * distance;
+		return new ImmutableQuantity(co2e, Unit.KG_CO2E);
 	}
 
 	/**
@@ -102,12 +164,9 @@ public class Truck implements Vessel {
 	 * @return The CO2e emissions per km allocated to the weight of a transported good
 	 */
 	public Quantity getCO2ePerKM(Quantity weight, Double loadFactor, Double emptyTripFactor) {
-		Quantity co2e = this.getTotalCO2ePerKM(loadFactor, emptyTripFactor);
-		Double allocationFactor = weight.convert(Unit.KILOGRAM).getAmount()
-				/ (loadFactor * this.specs.getPayloadCapacity());
-		co2e.setAmount(co2e.getAmount() * allocationFactor);
-		return co2e;
-
+		final double co2e = this.getCO2ePerKM(weight.amountIn(Unit.KILOGRAM), loadFactor.doubleValue(),
+				emptyTripFactor.doubleValue());
+		return new ImmutableQuantity(co2e, Unit.KG_CO2E);
 	}
 
 	/**
@@ -120,10 +179,92 @@ public class Truck implements Vessel {
 	 * @return The average fuel consumption per 100km
 	 */
 	public Quantity getFuelConsumption(Double loadFactor, Double emptyTripFactor) {
-		double consumption = (this.specs.getFuelConsumptionEmpty() + this.getCapacityUtilization(loadFactor,
-				emptyTripFactor) * (this.specs.getFuelConsumptionFull() - this.specs.getFuelConsumptionEmpty()))
+		final double consumption = this.getFuelConsumption(loadFactor.doubleValue(), emptyTripFactor.doubleValue());
+		return new ImmutableQuantity(consumption, Unit.LITRE);
+	}
+
+	/**
+	 * Calculates the CO2e emissions of several transports sharing load factor and empty trip factor. The emission per
+	 * kg and kilometer is computed once for the batch. Ranges of a batch can be evaluated in parallel, each element is
+	 * read and written at the same index.
+	 * 
+	 * @param weights
+	 *            The transported weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param loadFactor
+	 *            The load factor of the truck
+	 * @param emptyTripFactor
+	 *            The empty trip factor of the truck
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first transport
+	 * @param len
+	 *            The number of transports
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final double loadFactor,
+			final double emptyTripFactor, final double[] result, final int off, final int len)
+			throws IndexOutOfBoundsException {
+		VesselBatch.multiply(this.getCO2ePerKM(1d, loadFactor, emptyTripFactor), weights, distances, result, off, len);
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm using the load factor and empty-trip-factor of the context
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) {
+		return this.getCO2ePerKM(1d, context.getLoadFactor(), context.getEmptyTripFactor());
+	}
+
+	/**
+	 * Returns the amount of CO2e emission in kg per km allocated to the given weight of a transported good
+	 * 
+	 * @param calcWeight
+	 *            the weight in kg of a good for which the allocation is done
+	 * @param loadFactor
+	 *            the loadfactor between 0.0 and 1.0
+	 * @param emptyTripFactor
+	 *            the empty-trip-factor between 0.0 and 1.0
+	 * @return The CO2e emissions in kg per km allocated to the weight of a transported good
+	 */
+	private double getCO2ePerKM(double calcWeight, double loadFactor, double emptyTripFactor) {
+		// total CO2e per km divided by the transported weight loadFactor * payloadCapacity
+		return calcWeight * (this.emptyCO2ePerKGKM / loadFactor + this.loadCO2ePerKGKM / (1 + emptyTripFactor));
+	}
+
+	/**
+	 * Returns the average CO2e emission in kg per km of this truck, see {@link #getTotalCO2ePerKM(Double, Double)}
+	 * 
+	 * @param loadFactor
+	 *            the loadFactor, between 0.0 and 1.0 indicating the percentage of the payloadcapacity used
+	 * @param emptyTripFactor
+	 *            a factor between 0.0 and 1.0, percentage of empty return trips
+	 * @return The average CO2e emission in kg per km
+	 */
+	private double getTotalCO2ePerKM(double loadFactor, double emptyTripFactor) {
+		return this.emptyCO2ePerKM + this.loadCO2ePerKM * this.getCapacityUtilization(loadFactor, emptyTripFactor);
+	}
+
+	/**
+	 * Returns the average fuel consumption in liter per 100km of this truck
+	 * 
+	 * @param loadFactor
+	 *            A factor between 0.0 and 1.0 describing how much of the payloadCapacity is used
+	 * @param emptyTripFactor
+	 *            A factor between 0.0 and 1.0 describing how many empty return trips occur
+	 * @return The average fuel consumption in liter per 100km
+	 */
+	private double getFuelConsumption(double loadFactor, double emptyTripFactor) {
+		return (this.specs.getFuelConsumptionEmpty() + this.getCapacityUtilization(loadFactor, emptyTripFactor)
+				* (this.specs.getFuelConsumptionFull() - this.specs.getFuelConsumptionEmpty()))
 				* FUEL_CONSUMPTION_FACTOR;
-		return new QuantityImpl(consumption, Unit.LITRE);
 	}
 
 	/**
@@ -135,7 +276,7 @@ public class Truck implements Vessel {
 	 *            The empty-trip-factor
 	 * @return The capacity-utilization
 	 */
-	private double getCapacityUtilization(Double loadFactor, Double emptyTripFactor) {
+	private double getCapacityUtilization(double loadFactor, double emptyTripFactor) {
 		return loadFactor / (1 + emptyTripFactor);
 	}
 
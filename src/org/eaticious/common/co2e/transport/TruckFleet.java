@@ -0,0 +1,206 @@
+package org.eaticious.common.co2e.transport;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eaticious.common.ImmutableQuantity;
+import org.eaticious.common.Quantity;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
+
+/**
+ * A mix of trucks serving a road leg, e.g. 60% TR_40000, 30% TR_24000 and 10% TR_7500. The emissions of a weight
+ * transported by the fleet are the weighted average of the emissions of the trucks. As the emission of a truck is
+ * linear in its two coefficients (see {@link Truck}), the average is folded into one pair of coefficients on
+ * construction and evaluating a fleet costs the same as evaluating a single truck.
+ *
+ * Mixes varying by region or distance band are modeled as separate fleets. Fleets are immutable and may be shared
+ * between threads.
+ */
+public class TruckFleet implements Vessel {
+
+	/**
+	 * The weighted average of the CO2e emissions in kg per km of the empty trucks per kg of payload capacity
+	 */
+	private final double emptyCO2ePerKGKM;
+
+	/**
+	 * The weighted average of the additional CO2e emissions in kg per km of the fully utilized trucks per kg of
+	 * payload capacity
+	 */
+	private final double loadCO2ePerKGKM;
+
+	/**
+	 * Constructs a fleet of standard models
+	 *
+	 * @param mix
+	 *            The weights of the models, e.g. their shares of the transported ton-kilometers. The weights are
+	 *            normalized, so they do not need to add up to 1.
+	 * @throws IllegalArgumentException
+	 *             if a weight is negative or all weights are 0
+	 */
+	public TruckFleet(final Map<TruckModel, Double> mix) throws IllegalArgumentException {
+		final Truck[] trucks = new Truck[mix.size()];
+		final double[] weights = new double[mix.size()];
+		int i = 0;
+		for (final Entry<TruckModel, Double> entry : mix.entrySet()) {
+			trucks[i] = new Truck(entry.getKey());
+			weights[i++] = entry.getValue();
+		}
+		final double[] coefficients = fold(trucks, weights);
+		this.emptyCO2ePerKGKM = coefficients[0];
+		this.loadCO2ePerKGKM = coefficients[1];
+	}
+
+	/**
+	 * Constructs a fleet
+	 *
+	 * @param specs
+	 *            The specifications of the trucks
+	 * @param weights
+	 *            The weights of the trucks, normalized as in {@link #TruckFleet(Map)}
+	 * @throws IllegalArgumentException
+	 *             if the arrays differ in length, a weight is negative or all weights are 0
+	 */
+	public TruckFleet(final TruckSpecification[] specs, final double[] weights) throws IllegalArgumentException {
+		if (specs.length != weights.length) {
+			throw new IllegalArgumentException("Expected the same number of specifications and weights, got "
+					+ specs.length + " specifications and " + weights.length + " weights");
+		}
+		final Truck[] trucks = new Truck[specs.length];
+		for (int i = 0; i < specs.length; i++) {
+			trucks[i] = new Truck(specs[i]);
+		}
+		final double[] coefficients = fold(trucks, weights);
+		this.emptyCO2ePerKGKM = coefficients[0];
+		this.loadCO2ePerKGKM = coefficients[1];
+	}
+
+	/**
+	 * Folds the coefficients of trucks into their weighted averages
+	 *
+	 * @param trucks
+	 *            The trucks
+	 * @param weights
+	 *            The weights of the trucks
+	 * @return The averages of the empty and the load coefficient
+	 * @throws IllegalArgumentException
+	 *             if a weight is negative or all weights are 0
+	 */
+	private static double[] fold(final Truck[] trucks, final double[] weights) throws IllegalArgumentException {
+		double total = 0d;
+		for (final double weight : weights) {
+			if (!(weight >= 0)) {
+				throw new IllegalArgumentException("Weights must not be negative, was " + weight);
+			}
+			total += weight;
+		}
+		if (!(total > 0)) {
+			throw new IllegalArgumentException("At least one weight has to be bigger than 0");
+		}
+		final double[] result = new double[2];
+		for (int i = 0; i < trucks.length; i++) {
+			final double share = weights[i] / total;
+			result[0] += share * trucks[i].getEmptyCO2ePerKGKM();
+			result[1] += share * trucks[i].getLoadCO2ePerKGKM();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the CO2e emission allocated to a weight transported by this fleet, without creating any objects
+	 *
+	 * @param kg
+	 *            The transported weight in kg
+	 * @param km
+	 *            The distance in kilometer
+	 * @param loadFactor
+	 *            the loadFactor of the trucks, between 0.0 and 1.0 indicating the percentage of the payloadcapacity
+	 *            used
+	 * @param emptyTripFactor
+	 *            a factor between 0.0 and 1.0, percentage of empty return trips
+	 * @return The CO2e emission in kg
+	 */
+	public double co2eKg(final double kg, final double km, final double loadFactor, final double emptyTripFactor) {
+		return this.getCO2ePerKGKM(loadFactor, emptyTripFactor) * kg * km;
+	}
+
+	/**
+	 * Returns the CO2e emission allocated to a weight transported by this fleet
+	 *
+	 * @param weight
+	 *            The transported weight
+	 * @param distance
+	 *            The distance in kilometer
+	 * @param loadFactor
+	 *            the loadFactor of the trucks, between 0.0 and 1.0 indicating the percentage of the payloadcapacity
+	 *            used
+	 * @param emptyTripFactor
+	 *            a factor between 0.0 and 1.0, percentage of empty return trips
+	 * @return The CO2e emission allocated to the weight
+	 */
+	public Quantity getCO2e(final Quantity weight, final double distance, final double loadFactor,
+			final double emptyTripFactor) {
+		return new ImmutableQuantity(this.co2eKg(weight.amountIn(Unit.KILOGRAM), distance, loadFactor,
+				emptyTripFactor), Unit.KG_CO2E);
+	}
+
+	/**
+	 * Returns the CO2e emission per kg and km of this fleet
+	 *
+	 * @param loadFactor
+	 *            the loadFactor of the trucks, between 0.0 and 1.0 indicating the percentage of the payloadcapacity
+	 *            used
+	 * @param emptyTripFactor
+	 *            a factor between 0.0 and 1.0, percentage of empty return trips
+	 * @return The CO2e emission per kg and km
+	 */
+	public Quantity getCO2ePerKGKM(final Double loadFactor, final Double emptyTripFactor) {
+		return new ImmutableQuantity(this.getCO2ePerKGKM(loadFactor.doubleValue(), emptyTripFactor.doubleValue()),
+				Unit.KG_CO2E);
+	}
+
+	/**
+	 * Calculates the CO2e emissions of several transports by this fleet, see
+	 * {@link Truck#getCO2e(double[], double[], double, double, double[], int, int)}
+	 *
+	 * @param weights
+	 *            The transported weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param loadFactor
+	 *            The load factor of the trucks
+	 * @param emptyTripFactor
+	 *            The empty trip factor of the trucks
+	 * @param result
+	 *            The array receiving the CO2e emissions in kg
+	 * @param off
+	 *            The index of the first transport
+	 * @param len
+	 *            The number of transports
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	public void getCO2e(final double[] weights, final double[] distances, final double loadFactor,
+			final double emptyTripFactor, final double[] result, final int off, final int len)
+			throws IndexOutOfBoundsException {
+		VesselBatch.multiply(this.getCO2ePerKGKM(loadFactor, emptyTripFactor), weights, distances, result, off, len);
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kgkm of the mix using the load factor and empty-trip-factor of the context
+	 * 
+	 * @param context
+	 *            The parameters of the segment
+	 * @return The CO2e emission in kg per kgkm
+	 */
+	@Override
+	public double kgCO2ePerKgKm(final SegmentContext context) {
+		return this.getCO2ePerKGKM(context.getLoadFactor(), context.getEmptyTripFactor());
+	}
+
+	private double getCO2ePerKGKM(final double loadFactor, final double emptyTripFactor) {
+		return this.emptyCO2ePerKGKM / loadFactor + this.loadCO2ePerKGKM / (1 + emptyTripFactor);
+	}
+
+}
@@ -1,7 +1,19 @@
 package org.eaticious.common.co2e.transport;
 
-import java.util.List;
-
+/**
+ * A means of transport. Besides their own methods all vessels provide one primitive kernel, so the segments of a
+ * route can be evaluated in one loop without knowing the vessels.
+ */
 public interface Vessel {
 
+	/**
+	 * Returns the CO2e emission in kg per kg of transported good and kilometer for a segment. The emission of the
+	 * segment is the result multiplied with the weight in kg and {@link SegmentContext#getDistance()}.
+	 * 
+	 * @param context
+	 *            The parameters of the segment, not modified
+	 * @return The CO2e emission in kg per kgkm
+	 */
+	double kgCO2ePerKgKm(SegmentContext context);
+
 }
@@ -0,0 +1,61 @@
+package org.eaticious.common.co2e.transport;
+
+/**
+ * Helpers of the batch methods of the vessels. The batch methods read the inputs and write the results at the same
+ * indices off to off + len - 1, so a batch can be split into ranges evaluated by several threads without copying.
+ */
+final class VesselBatch {
+
+	private VesselBatch() {
+		// static methods only
+	}
+
+	/**
+	 * Checks that a range lies within all arrays of a batch, so a batch fails before writing any result
+	 *
+	 * @param off
+	 *            The index of the first element
+	 * @param len
+	 *            The number of elements
+	 * @param arrays
+	 *            The inputs and the result array
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	static void checkRange(final int off, final int len, final double[]... arrays) throws IndexOutOfBoundsException {
+		for (final double[] array : arrays) {
+			if (off < 0 || len < 0 || off + len > array.length) {
+				throw new IndexOutOfBoundsException("Range " + off + " to " + (off + len) + " exceeds array of length "
+						+ array.length);
+			}
+		}
+	}
+
+	/**
+	 * Multiplies a factor with the products of weights and distances
+	 *
+	 * @param factor
+	 *            The CO2e in kg per kg and kilometer
+	 * @param weights
+	 *            The weights in kilogram
+	 * @param distances
+	 *            The distances in kilometer
+	 * @param result
+	 *            The array receiving the CO2e in kg
+	 * @param off
+	 *            The index of the first element
+	 * @param len
+	 *            The number of elements
+	 * @throws IndexOutOfBoundsException
+	 *             if the range exceeds one of the arrays
+	 */
+	static void multiply(final double factor, final double[] weights, final double[] distances,
+			final double[] result, final int off, final int len) throws IndexOutOfBoundsException {
+		checkRange(off, len, weights, distances, result);
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			result[i] = factor * distances[i] * weights[i];
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.eaticious.common.co2e.transport;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.eaticious.common.co2e.transport.AirplaneSpecification.StandardModel;
+import org.eaticious.common.co2e.transport.BargeSpecification.BargeModel;
+import org.eaticious.common.co2e.transport.ElectricTrainSpecification.TrainModel;
+import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
+
+/**
+ * Hands out one shared instance of each vessel per standard model instead of creating vessels per route segment.
+ * The vessels returned keep their specification private and hold no other mutable state, so they may be used by
+ * several threads at once.
+ */
+public final class VesselRegistry {
+
+	private static final Map<StandardModel, Airplane> AIRPLANES = new EnumMap<StandardModel, Airplane>(
+			StandardModel.class);
+
+	/**
+	 * Airplanes using an {@link AirplaneEmissionTable}, built on first use since the tables need some memory
+	 */
+	private static final Map<StandardModel, Airplane> TABLE_AIRPLANES = new EnumMap<StandardModel, Airplane>(
+			StandardModel.class);
+
+	private static final Map<TruckModel, Truck> TRUCKS = new EnumMap<TruckModel, Truck>(TruckModel.class);
+
+	private static final Map<TrainModel, ElectricTrain> TRAINS = new EnumMap<TrainModel, ElectricTrain>(
+			TrainModel.class);
+
+	private static final Map<BargeModel, Barge> BARGES = new EnumMap<BargeModel, Barge>(BargeModel.class);
+
+	private static final CargoShip CARGO_SHIP = new CargoShip();
+
+	static {
+		for (final StandardModel model : StandardModel.values()) {
+			AIRPLANES.put(model, new Airplane(model));
+		}
+		for (final TruckModel model : TruckModel.values()) {
+			TRUCKS.put(model, new Truck(model));
+		}
+		for (final TrainModel model : TrainModel.values()) {
+			TRAINS.put(model, new ElectricTrain(model));
+		}
+		for (final BargeModel model : BargeModel.values()) {
+			BARGES.put(model, new Barge(model));
+		}
+	}
+
+	private VesselRegistry() {
+		// static methods only
+	}
+
+	/**
+	 * Returns the shared Airplane of a model
+	 *
+	 * @param model
+	 *            The model
+	 * @return The Airplane
+	 */
+	public static Airplane getAirplane(final StandardModel model) {
+		return AIRPLANES.get(model);
+	}
+
+	/**
+	 * Returns the shared Airplane of a model
+	 *
+	 * @param model
+	 *            The model
+	 * @param useEmissionTable
+	 *            true for an Airplane using an {@link AirplaneEmissionTable}
+	 * @return The Airplane
+	 */
+	public static Airplane getAirplane(final StandardModel model, final boolean useEmissionTable) {
+		if (!useEmissionTable) {
+			return getAirplane(model);
+		}
+		synchronized (TABLE_AIRPLANES) {
+			Airplane result = TABLE_AIRPLANES.get(model);
+			if (result == null) {
+				result = new Airplane(model, true);
+				TABLE_AIRPLANES.put(model, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the shared Truck of a model
+	 *
+	 * @param model
+	 *            The model
+	 * @return The Truck
+	 */
+	public static Truck getTruck(final TruckModel model) {
+		return TRUCKS.get(model);
+	}
+
+	/**
+	 * Returns the shared ElectricTrain of a model
+	 *
+	 * @param model
+	 *            The model
+	 * @return The ElectricTrain
+	 */
+	public static ElectricTrain getElectricTrain(final TrainModel model) {
+		return TRAINS.get(model);
+	}
+
+	/**
+	 * Returns the shared Barge of a model
+	 *
+	 * @param model
+	 *            The model
+	 * @return The Barge
+	 */
+	public static Barge getBarge(final BargeModel model) {
+		return BARGES.get(model);
+	}
+
+	/**
+	 * Returns the shared CargoShip
+	 *
+	 * @return The CargoShip
+	 */
+	public static CargoShip getCargoShip() {
+		return CARGO_SHIP;
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.eaticious.eaternity;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityCodec;
+
+/**
+ * Compact binary encoding of {@link CO2Value} using {@link QuantityCodec}, needs 5 to 45 bytes per value.
+ *
+ * Since CO2Value is an interface the components are read back as an array indexed by the constants of this class.
+ */
+public final class CO2ValueCodec {
+
+	public static final int PRODUCTION = 0;
+	public static final int CONSERVATION = 1;
+	public static final int TRANSPORTATION = 2;
+	public static final int NO_FACTORS = 3;
+	public static final int TOTAL = 4;
+
+	/**
+	 * The number of components written per CO2Value
+	 */
+	public static final int COMPONENTS = 5;
+
+	private CO2ValueCodec() {
+		// static methods only
+	}
+
+	/**
+	 * Writes the components of a CO2Value
+	 *
+	 * @param out The output to write to
+	 * @param value The value to be written
+	 * @throws IOException if writing fails
+	 */
+	public static void write(final DataOutput out, final CO2Value value) throws IOException {
+		QuantityCodec.writeQuantity(out, value.getProductionValue());
+		QuantityCodec.writeQuantity(out, value.getConservationValue());
+		QuantityCodec.writeQuantity(out, value.getTransportationValue());
+		QuantityCodec.writeQuantity(out, value.getNoFactorsValue());
+		QuantityCodec.writeQuantity(out, value.getTotalValue());
+	}
+
+	/**
+	 * Reads the components of a CO2Value written by {@link #write(DataOutput, CO2Value)}
+	 *
+	 * @param in The input to read from
+	 * @return The components, indexed by {@link #PRODUCTION}, {@link #CONSERVATION}, {@link #TRANSPORTATION},
+	 *         {@link #NO_FACTORS} and {@link #TOTAL}
+	 * @throws IOException if reading fails or the data is corrupt
+	 */
+	public static Quantity[] read(final DataInput in) throws IOException {
+		final Quantity[] result = new Quantity[COMPONENTS];
+		for (int i = 0; i < COMPONENTS; i++) {
+			result[i] = QuantityCodec.readQuantity(in);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes an array of CO2Values, e.g. the breakdown of a recipe by ingredient
+	 *
+	 * @param out The output to write to
+	 * @param values The values to be written
+	 * @throws IOException if writing fails
+	 */
+	public static void writeAll(final DataOutput out, final CO2Value[] values) throws IOException {
+		QuantityCodec.writeVarInt(out, values.length);
+		for (final CO2Value value : values) {
+			write(out, value);
+		}
+	}
+
+	/**
+	 * Reads an array of CO2Values written by {@link #writeAll(DataOutput, CO2Value[])}
+	 *
+	 * @param in The input to read from
+	 * @return The components of each value, see {@link #read(DataInput)}
+	 * @throws IOException if reading fails or the data is corrupt
+	 */
+	public static Quantity[][] readAll(final DataInput in) throws IOException {
+		final Quantity[][] result = new Quantity[QuantityCodec.readVarInt(in)][];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = read(in);
+		}
+		return result;
+	}
+
+}
@@ -1,15 +1,14 @@
 package org.eaticious.greenlicious.calc;
 
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 
 import org.eaticious.common.FoodProduct;
+import org.eaticious.common.ProductMassConverter;
 import org.eaticious.common.Quantity;
-import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Recipe;
 import org.eaticious.common.Region;
-import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.CO2eAccumulator;
 import org.eaticious.common.co2e.transport.Vessel;
 import org.eaticious.greenlicious.CoolingType;
 import org.eaticious.greenlicious.Shoppinglist;
@@ -21,33 +20,48 @@ public class CO2eCalculatorImpl implements CO2eCalculator {
 
 	private static final RouteManager routeManager = new RouteManagerImpl();
 
+	private final ProductMassConverter massConverter;
+
+	private final RouteCompiler routeCompiler;
+
+	/**
+	 * Constructs a calculator with its own ProductMassConverter and RouteCompiler
+	 */
+	public CO2eCalculatorImpl() {
+		this(new ProductMassConverter(), new RouteCompiler(routeManager));
+	}
+
+	/**
+	 * Constructs a calculator
+	 * 
+	 * @param massConverter
+	 *            The converter of the amounts of FoodProducts, its owner invalidates it when products change
+	 * @param routeCompiler
+	 *            The compiler of the transport routes, its owner invalidates it when routes change
+	 */
+	public CO2eCalculatorImpl(final ProductMassConverter massConverter, final RouteCompiler routeCompiler) {
+		this.massConverter = massConverter;
+		this.routeCompiler = routeCompiler;
+	}
+
 	@Override
 	public Quantity getTransportValue(FoodProduct product, Region consumer, Quantity amount) {
 		// 1. get all producers for consumerRegion
 		Map<Region, Double> imports = tradeManager.getProducers(product, consumer);
 		// 2. determine routes of FoodProducts for consumer regions
-		Quantity co2eTransport = new QuantityImpl(0d, Unit.KG_CO2E);
+		// amounts may be given as volume or pieces, transport calculation is based on mass
+		final double kilogram = this.massConverter.toKilogram(product, amount);
+		CO2eAccumulator co2eTransport = new CO2eAccumulator();
 		for (Region producer : imports.keySet()) {
-			Route route = routeManager.getRoute(product, producer, consumer);
 			// allocate amount by percentage of import from producer
 			// TODO check if 100% of import in Route or if percentage needs to be normalized to 100%
-			Quantity allocAmount = new QuantityImpl(amount.getAmount() * imports.get(producer), Unit.KILOGRAM);
-			co2eTransport.add(this.getCO2eForRoute(product, allocAmount, route));
+			// the segments are evaluated once per producer, consumer and TransportClass
+			co2eTransport.add(this.routeCompiler.getCompiledRoute(product, producer, consumer).co2eKg(
+					kilogram * imports.get(producer)));
 		}
 		// 3. calculate co2e for each route
 
-		return co2eTransport;
-	}
-
-	private Quantity getCO2eForRoute(FoodProduct product, Quantity amount, Route route) {
-		Quantity co2e = new QuantityImpl(0d, Unit.KG_CO2E);
-		Quantity normAmount = amount.convert(Unit.KILOGRAM);
-		List<RouteSegment> segments = route.getSegments();
-		for (RouteSegment segment : segments) {
-			Vessel vessel = segment.getVessel();
-		}
-		// TODO calculate co2e for each segment
-		return null;
+		return co2eTransport.getTotal();
 	}
 
 	@Override
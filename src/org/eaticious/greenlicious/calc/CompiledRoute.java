@@ -0,0 +1,83 @@
+package org.eaticious.greenlicious.calc;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eaticious.common.ImmutableQuantity;
+import org.eaticious.common.Quantity;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.Vessel;
+
+/**
+ * A {@link Route} reduced to one coefficient. All vessels are linear in the transported mass, so the CO2e emission of
+ * a route is the coefficient multiplied with the weight. Built by {@link RouteCompiler}.
+ *
+ * CompiledRoutes are immutable and may be shared between threads.
+ */
+public final class CompiledRoute {
+
+	/**
+	 * The CO2e in kg per kg of transported good of the whole route
+	 */
+	private final double coefficient;
+
+	/**
+	 * The share of the coefficient by class of {@link Vessel}
+	 */
+	private final Map<Class<? extends Vessel>, Double> breakdown;
+
+	/**
+	 * Constructs a CompiledRoute
+	 * 
+	 * @param coefficient
+	 *            The CO2e in kg per kg of transported good
+	 * @param breakdown
+	 *            The share of the coefficient by class of Vessel, not copied
+	 */
+	CompiledRoute(final double coefficient, final Map<Class<? extends Vessel>, Double> breakdown) {
+		this.coefficient = coefficient;
+		this.breakdown = Collections.unmodifiableMap(breakdown);
+	}
+
+	/**
+	 * @return The CO2e emission in kg per kg of transported good
+	 */
+	public double getCoefficient() {
+		return this.coefficient;
+	}
+
+	/**
+	 * Returns the CO2e emission in kg per kg of transported good by mode of transport, e.g. the part of the
+	 * coefficient caused by Truck segments. The values add up to {@link #getCoefficient()}.
+	 * 
+	 * @return The unmodifiable breakdown by class of Vessel in the order of the first segment of each class
+	 */
+	public Map<Class<? extends Vessel>, Double> getBreakdown() {
+		return this.breakdown;
+	}
+
+	/**
+	 * Returns the CO2e emission of transporting a weight along the route
+	 * 
+	 * @param kg
+	 *            The weight in kg
+	 * @return The CO2e emission in kg
+	 */
+	public double co2eKg(final double kg) {
+		return this.coefficient * kg;
+	}
+
+	/**
+	 * Returns the CO2e emission of transporting an amount along the route
+	 * 
+	 * @param weight
+	 *            The weight as Quantity of PhysicalDimension MASS
+	 * @return The CO2e emission
+	 * @throws IllegalArgumentException
+	 *             if the weight is no mass
+	 */
+	public Quantity getCO2e(final Quantity weight) throws IllegalArgumentException {
+		return new ImmutableQuantity(this.co2eKg(weight.amountIn(Unit.KILOGRAM)), Unit.KG_CO2E);
+	}
+
+}
@@ -0,0 +1,160 @@
+package org.eaticious.greenlicious.calc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eaticious.common.FoodProduct;
+import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.Region;
+import org.eaticious.common.co2e.transport.SegmentContext;
+import org.eaticious.common.co2e.transport.Vessel;
+
+/**
+ * Compiles the {@link RouteSegment}s of a {@link Route} into a {@link CompiledRoute} and caches it by producer,
+ * consumer and {@link TransportClass}. Once a route is compiled, its emissions cost one multiply and no vessel code
+ * runs.
+ *
+ * The cache relies on the contract of {@link RouteManager#getRoute(FoodProduct, Region, Region)} that routes depend
+ * on the product only through its TransportClass. Regions are keyed by their equals and hashCode, which is identity
+ * for most implementations of Region, so pass the same instance for the same region. The cache does not notice
+ * changes of routes and is never evicted by itself, its owner calls {@link #invalidate(Region)} or {@link #clear()}
+ * after changing them.
+ */
+public class RouteCompiler {
+
+	/**
+	 * The key of a cached route
+	 */
+	private static final class RouteKey {
+
+		private final Region producer;
+
+		private final Region consumer;
+
+		private final TransportClass transportClass;
+
+		private RouteKey(final Region producer, final Region consumer, final TransportClass transportClass) {
+			this.producer = producer;
+			this.consumer = consumer;
+			this.transportClass = transportClass;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof RouteKey)) {
+				return false;
+			}
+			final RouteKey other = (RouteKey) obj;
+			return this.producer.equals(other.producer) && this.consumer.equals(other.consumer)
+					&& this.transportClass == other.transportClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.producer.hashCode() * 31 + this.consumer.hashCode()) * 31 + this.transportClass.hashCode();
+		}
+	}
+
+	/**
+	 * The manager providing the routes
+	 */
+	private final RouteManager routeManager;
+
+	/**
+	 * The compiled routes
+	 */
+	private final Map<RouteKey, CompiledRoute> routes = new ConcurrentHashMap<RouteKey, CompiledRoute>();
+
+	/**
+	 * Constructs a RouteCompiler
+	 * 
+	 * @param routeManager
+	 *            The manager providing the routes
+	 */
+	public RouteCompiler(final RouteManager routeManager) {
+		this.routeManager = routeManager;
+	}
+
+	/**
+	 * Returns the compiled route of a FoodProduct from a producer to a consumer, compiling it on first use
+	 * 
+	 * @param product
+	 *            The FoodProduct
+	 * @param producer
+	 *            The producing Region
+	 * @param consumer
+	 *            The consuming Region
+	 * @return The compiled route
+	 * @throws IllegalArgumentException
+	 *             if there is no route or a segment cannot be evaluated
+	 */
+	public CompiledRoute getCompiledRoute(final FoodProduct product, final Region producer, final Region consumer)
+			throws IllegalArgumentException {
+		final RouteKey key = new RouteKey(producer, consumer, product.getTransportClass());
+		CompiledRoute result = this.routes.get(key);
+		if (result == null) {
+			// compiling twice in a race is harmless
+			final Route route = this.routeManager.getRoute(product, producer, consumer);
+			if (route == null) {
+				throw new IllegalArgumentException("No route from " + producer + " to " + consumer);
+			}
+			result = compile(route, product.getTransportClass());
+			this.routes.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the cached routes from or to a region
+	 * 
+	 * @param region
+	 *            The producing or consuming Region
+	 */
+	public void invalidate(final Region region) {
+		for (final RouteKey key : this.routes.keySet()) {
+			if (key.producer.equals(region) || key.consumer.equals(region)) {
+				this.routes.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached routes
+	 */
+	public void clear() {
+		this.routes.clear();
+	}
+
+	/**
+	 * Compiles a route by summing the CO2e per kgkm of each segment multiplied with its distance
+	 * 
+	 * @param route
+	 *            The route
+	 * @param tc
+	 *            The TransportClass of the goods
+	 * @return The compiled route
+	 * @throws IllegalArgumentException
+	 *             if a segment cannot be evaluated
+	 */
+	public static CompiledRoute compile(final Route route, final TransportClass tc) throws IllegalArgumentException {
+		final Map<Class<? extends Vessel>, Double> breakdown = new LinkedHashMap<Class<? extends Vessel>, Double>();
+		final SegmentContext context = new SegmentContext();
+		double coefficient = 0d;
+		final List<RouteSegment> segments = route.getSegments();
+		for (int i = 0; i < segments.size(); i++) {
+			final RouteSegment segment = segments.get(i);
+			context.reset();
+			context.setTransportClass(tc);
+			segment.fillContext(context);
+			final Vessel vessel = segment.getVessel();
+			final double co2e = vessel.kgCO2ePerKgKm(context) * context.getDistance();
+			coefficient += co2e;
+			final Double mode = breakdown.get(vessel.getClass());
+			breakdown.put(vessel.getClass(), mode == null ? co2e : mode + co2e);
+		}
+		return new CompiledRoute(coefficient, breakdown);
+	}
+
+}
@@ -5,6 +5,21 @@ import org.eaticious.common.Region;
 
 public interface RouteManager {
 
+	/**
+	 * Returns the transport route of a FoodProduct from a producer to a consumer. The route may depend on the product
+	 * only through its {@link FoodProduct#getTransportClass()}: products of the same TransportClass between the same
+	 * regions get the same route, as {@link RouteCompiler} caches routes by producer, consumer and TransportClass.
+	 * Products needing a different mode of transport, e.g. air freight for fresh goods, need their own
+	 * TransportClass.
+	 * 
+	 * @param product
+	 *            The FoodProduct
+	 * @param producer
+	 *            The producing Region
+	 * @param consumer
+	 *            The consuming Region
+	 * @return The route or null if there is none
+	 */
 	Route getRoute(FoodProduct product, Region producer, Region consumer);
 
 }
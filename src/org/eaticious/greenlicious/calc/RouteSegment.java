@@ -1,9 +1,19 @@
 package org.eaticious.greenlicious.calc;
 
+import org.eaticious.common.co2e.transport.SegmentContext;
 import org.eaticious.common.co2e.transport.Vessel;
 
 public interface RouteSegment {
 
 	Vessel getVessel();
 
+	/**
+	 * Writes the distance and the parameters the vessel of this segment depends on into a context. The TransportClass
+	 * is set by the caller from the transported FoodProduct.
+	 * 
+	 * @param context
+	 *            The context, reset by the caller
+	 */
+	void fillContext(SegmentContext context);
+
 }
@@ -0,0 +1,142 @@
+package org.eaticious.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal {@link FoodProduct} used by tests, only name, density, standard weight, TransportClass and seasons are
+ * supported
+ */
+public class FoodProductStub implements FoodProduct {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String name;
+
+	private Double density;
+
+	private Quantity stdWeight;
+
+	private TransportClass transportClass = TransportClass.UNKNOWN;
+
+	private final Map<Region, List<Season>> seasons = new HashMap<Region, List<Season>>();
+
+	public FoodProductStub(String name) {
+		this.name = name;
+	}
+
+	public FoodProductStub(String name, Double density, Quantity stdWeight) {
+		this(name);
+		this.density = density;
+		this.stdWeight = stdWeight;
+	}
+
+	public FoodProductStub(String name, TransportClass transportClass) {
+		this(name);
+		this.transportClass = transportClass;
+	}
+
+	public FoodProductStub addSeason(Region region, Season season) {
+		if (!this.seasons.containsKey(region)) {
+			this.seasons.put(region, new ArrayList<Season>());
+		}
+		this.seasons.get(region).add(season);
+		return this;
+	}
+
+	@Override
+	public String getName(Language language) {
+		return this.name;
+	}
+
+	@Override
+	public String getCode(ProductClassification classification) {
+		return null;
+	}
+
+	@Override
+	public Map<Nutrient, Quantity> getNutritionData() {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public List<FoodProduct> getSubstitutes() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public Season getSeason(Region region, Date date) {
+		for (Season season : this.getSeasons(region)) {
+			if (season.isInSeason(date)) {
+				return season;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public List<Season> getSeasons(Region region) {
+		List<Season> result = this.seasons.get(region);
+		return result == null ? Collections.<Season> emptyList() : result;
+	}
+
+	@Override
+	public Boolean isSeasonDependant() {
+		return !this.seasons.isEmpty();
+	}
+
+	@Override
+	public Double getDensity() {
+		return this.density;
+	}
+
+	@Override
+	public List<String> getTags() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public Quantity getStdWeight() {
+		return this.stdWeight;
+	}
+
+	@Override
+	public Map<Region, Integer> getProducingRegions(Region consumer) {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public String getScientificName() {
+		return null;
+	}
+
+	@Override
+	public List<String> getSynonyms() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public String getShoppingInfo() {
+		return null;
+	}
+
+	@Override
+	public String getCategory() {
+		return null;
+	}
+
+	@Override
+	public TransportClass getTransportClass() {
+		return this.transportClass;
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ImmutableQuantityTest {
+
+	@Test
+	public void testAmountIn() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		assertEquals(1000d, first.amountIn(Unit.GRAM), 0d);
+	}
+
+	@Test
+	public void testAmountInQuantityImpl() {
+		Quantity first = new QuantityImpl(1500d, Unit.GRAM);
+		assertEquals(1.5, first.amountIn(Unit.KILOGRAM), 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAmountInException() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		first.amountIn(Unit.LITRE);
+	}
+
+	@Test
+	public void testConvert() {
+		Quantity first = new ImmutableQuantity(1000d, Unit.GRAM).convert(Unit.KILOGRAM);
+		assertEquals(Unit.KILOGRAM, first.getUnit());
+		assertEquals(new Double(1d), first.getAmount());
+	}
+
+	@Test
+	public void testPlusMinusTimes() {
+		ImmutableQuantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		ImmutableQuantity sum = first.plus(new QuantityImpl(500d, Unit.GRAM));
+		assertEquals(1.5, sum.amountIn(Unit.KILOGRAM), 0d);
+		assertEquals(0.5, sum.minus(first).amountIn(Unit.KILOGRAM), 0d);
+		assertEquals(3d, sum.times(2d).amountIn(Unit.KILOGRAM), 0d);
+		// first is not changed by any of the operations
+		assertEquals(1d, first.amountIn(Unit.KILOGRAM), 0d);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSetAmount() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		first.setAmount(2d);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAdd() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		first.add(new QuantityImpl(1d, Unit.KILOGRAM));
+	}
+
+	@Test
+	public void testEqualsObjectTrue() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		Quantity second = new QuantityImpl(1000d, Unit.GRAM);
+		assertEquals(first, second);
+		assertEquals(second, first);
+	}
+
+	@Test
+	public void testEqualsObjectWrongDimension() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		Quantity second = new ImmutableQuantity(1d, Unit.LITRE);
+		assertFalse(first.equals(second));
+	}
+
+	@Test
+	public void testGreaterThan() {
+		Quantity first = new ImmutableQuantity(1d, Unit.KILOGRAM);
+		Quantity second = new ImmutableQuantity(999.9, Unit.GRAM);
+		assertTrue(first.greaterThan(second));
+		assertFalse(second.greaterThan(first));
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.junit.Test;
+
+public class ImmutableSeasonTest {
+
+	@Test
+	public void testParse() {
+		ImmutableSeason season = ImmutableSeason.parse("--04-01", "30.6.", SeasonType.MAIN_SEASON);
+		assertEquals(DayOfYear.of(1, Calendar.APRIL), season.getBeginDay());
+		assertEquals(DayOfYear.of(30, Calendar.JUNE), season.getEndDay());
+		assertEquals(SeasonType.MAIN_SEASON, season.getSeasonType());
+		assertEquals(season, ImmutableSeason.parse("4-1", "06-30", SeasonType.MAIN_SEASON));
+		assertEquals(58, ImmutableSeason.parseDay("--02-29"));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testParseInvalid() {
+		ImmutableSeason.parseDay("13-01");
+	}
+
+	@Test
+	public void testIsInSeason() {
+		ImmutableSeason season = ImmutableSeason.parse("11-01", "02-28", SeasonType.MAIN_SEASON);
+		assertTrue(season.isInSeason(new GregorianCalendar(2012, Calendar.FEBRUARY, 29)));
+		assertTrue(season.isInSeason(new GregorianCalendar(2012, Calendar.DECEMBER, 1).getTime()));
+		assertFalse(season.isInSeason(DayOfYear.of(1, Calendar.MARCH)));
+		assertEquals(2002, season.getEnd().get(Calendar.YEAR));
+	}
+
+	@Test
+	public void testWith() {
+		ImmutableSeason season = ImmutableSeason.parse("03-01", "05-31", SeasonType.MAIN_SEASON);
+		ImmutableSeason changed = season.withBeginning(DayOfYear.of(1, Calendar.APRIL)).withSeasonType(
+				SeasonType.OUT_OF_SEASON);
+		assertEquals(DayOfYear.of(31, Calendar.MAY), changed.getEndDay());
+		assertEquals(SeasonType.OUT_OF_SEASON, changed.getSeasonType());
+		assertEquals(DayOfYear.of(1, Calendar.MARCH), season.getBeginDay());
+	}
+
+	@Test
+	public void testCopy() {
+		Season mutable = new SeasonImpl();
+		mutable.setBeginning(1, Calendar.MAY);
+		mutable.setEnd(31, Calendar.AUGUST);
+		mutable.setSeasonType(SeasonType.MAIN_SEASON);
+		assertEquals(ImmutableSeason.parse("05-01", "08-31", SeasonType.MAIN_SEASON), new ImmutableSeason(mutable));
+	}
+
+	@Test (expected = UnsupportedOperationException.class)
+	public void testSetBeginning() {
+		ImmutableSeason.parse("03-01", "05-31", SeasonType.MAIN_SEASON).setBeginning(Calendar.APRIL);
+	}
+
+}
@@ -0,0 +1,54 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProductMassConverterTest {
+
+	private ProductMassConverter converter;
+
+	private FoodProduct flour;
+
+	private FoodProduct egg;
+
+	@Before
+	public void setUp() throws Exception {
+		this.converter = new ProductMassConverter();
+		this.flour = new FoodProductStub("flour", 0.6, null);
+		this.egg = new FoodProductStub("egg", null, new QuantityImpl(60d, Unit.GRAM));
+	}
+
+	@Test
+	public void testMass() {
+		assertEquals(0.25, this.converter.toKilogram(this.flour, 250d, Unit.GRAM), 1e-12);
+	}
+
+	@Test
+	public void testVolume() {
+		assertEquals(0.3, this.converter.toKilogram(this.flour, 0.5, Unit.LITRE), 1e-12);
+		Quantity mass = this.converter.toMass(this.flour, new QuantityImpl(5d, Unit.DECILITRE));
+		assertEquals(Unit.KILOGRAM, mass.getUnit());
+		assertEquals(0.3, mass.getAmount(), 1e-12);
+	}
+
+	@Test
+	public void testPiece() {
+		assertEquals(0.18, this.converter.toKilogram(this.egg, new QuantityImpl(3d, Unit.PIECE)), 1e-12);
+	}
+
+	@Test
+	public void testIsConvertable() {
+		assertTrue(this.converter.isConvertable(this.flour, Unit.CUP_DRY));
+		assertFalse(this.converter.isConvertable(this.flour, Unit.PIECE));
+		assertFalse(this.converter.isConvertable(this.egg, Unit.LITRE));
+		assertFalse(this.converter.isConvertable(this.egg, Unit.KILOMETER));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testVolumeWithoutDensity() {
+		this.converter.toKilogram(this.egg, 1d, Unit.LITRE);
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class QuantityCodecTest {
+
+	private ByteArrayOutputStream bytes;
+
+	private DataOutputStream out;
+
+	@Before
+	public void setUp() throws Exception {
+		this.bytes = new ByteArrayOutputStream();
+		this.out = new DataOutputStream(this.bytes);
+	}
+
+	private DataInputStream input() {
+		return new DataInputStream(new ByteArrayInputStream(this.bytes.toByteArray()));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		Quantity quantity = new QuantityImpl(0.1, Unit.KG_CO2E);
+		byte[] encoded = QuantityCodec.toBytes(quantity);
+		assertEquals(9, encoded.length);
+		Quantity decoded = QuantityCodec.fromBytes(encoded);
+		assertEquals(Unit.KG_CO2E, decoded.getUnit());
+		assertEquals(0.1, decoded.getAmount(), 0d);
+	}
+
+	@Test
+	public void testCompactAmount() {
+		byte[] encoded = QuantityCodec.toBytes(new QuantityImpl(250d, Unit.GRAM));
+		assertEquals(5, encoded.length);
+		assertEquals(new QuantityImpl(250d, Unit.GRAM), QuantityCodec.fromBytes(encoded));
+	}
+
+	@Test
+	public void testNull() {
+		byte[] encoded = QuantityCodec.toBytes(null);
+		assertEquals(1, encoded.length);
+		assertNull(QuantityCodec.fromBytes(encoded));
+	}
+
+	@Test
+	public void testFloat() throws IOException {
+		QuantityCodec.writeQuantityAsFloat(this.out, new QuantityImpl(0.1, Unit.LITRE));
+		assertEquals(5, this.bytes.size());
+		assertEquals(0.1, QuantityCodec.readQuantity(this.input()).getAmount(), 1e-7);
+	}
+
+	@Test
+	public void testQuantities() throws IOException {
+		Quantity[] quantities = { new QuantityImpl(1.5, Unit.KILOGRAM), null, new QuantityImpl(Math.PI, Unit.KILOMETER) };
+		QuantityCodec.writeQuantities(this.out, quantities);
+		Quantity[] decoded = QuantityCodec.readQuantities(this.input());
+		assertEquals(3, decoded.length);
+		assertEquals(quantities[0], decoded[0]);
+		assertNull(decoded[1]);
+		assertEquals(Math.PI, decoded[2].getAmount(), 0d);
+	}
+
+	@Test
+	public void testVector() throws IOException {
+		QuantityVector vector = new QuantityVector();
+		vector.add(1d, Unit.KILOGRAM);
+		vector.add(0.3, Unit.DECILITRE);
+		QuantityCodec.writeVector(this.out, vector);
+		assertEquals(1 + 5 + 9, this.bytes.size());
+		QuantityVector decoded = QuantityCodec.readVector(this.input());
+		assertEquals(2, decoded.size());
+		assertEquals(Unit.DECILITRE, decoded.getUnit(1));
+		assertEquals(0.3, decoded.getAmount(1), 0d);
+	}
+
+	@Test
+	public void testVarInt() throws IOException {
+		int[] values = { 0, 127, 128, 300, Integer.MAX_VALUE };
+		for (int value : values) {
+			QuantityCodec.writeVarInt(this.out, value);
+		}
+		assertEquals(1 + 1 + 2 + 2 + 5, this.bytes.size());
+		DataInputStream in = this.input();
+		for (int value : values) {
+			assertEquals(value, QuantityCodec.readVarInt(in));
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnknownUnit() {
+		QuantityCodec.fromBytes(new byte[] { 0x70, 0, 0, 0, 0 });
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class QuantityParserTest {
+
+	@Test
+	public void testParseGram() {
+		Quantity quantity = QuantityParser.parse("250 g");
+		assertEquals(Unit.GRAM, quantity.getUnit());
+		assertEquals(250d, quantity.getAmount(), 0d);
+	}
+
+	@Test
+	public void testParseDecimals() {
+		assertEquals(1.5, QuantityParser.parse("1.5 gal").getAmount(), 0d);
+		assertEquals(1.5, QuantityParser.parse("1,5 l").getAmount(), 0d);
+		assertEquals(0.125, QuantityParser.parse(" 0.125kg ").getAmount(), 0d);
+	}
+
+	@Test
+	public void testParseLongDecimals() {
+		// 17 digits, scaling the mantissa would round twice
+		assertEquals(Double.parseDouble("6.4708321257442331"), QuantityParser.parse("6.4708321257442331 kg")
+				.getAmount(), 0d);
+		assertEquals(Double.parseDouble("123456789.012345"), QuantityParser.parse("123456789,012345 kg")
+				.getAmount(), 0d);
+	}
+
+	@Test
+	public void testParseFraction() {
+		Quantity quantity = QuantityParser.parse("1/2 cup");
+		assertEquals(0.5, quantity.getAmount(), 0d);
+		assertEquals(Unit.CUP_LIQUID, quantity.getUnit());
+	}
+
+	@Test
+	public void testParseCaseInsensitive() {
+		assertEquals(Unit.TABLESPOON_LIQUID, QuantityParser.parse("2 el").getUnit());
+		assertEquals(Unit.KILOWATTHOUR, QuantityParser.parse("3 kWh").getUnit());
+	}
+
+	@Test
+	public void testParseUnitWithBlank() {
+		assertEquals(Unit.NAUTICAL_MILE, QuantityParser.parse("12 nau mi").getUnit());
+		assertEquals(Unit.KG_CO2E, QuantityParser.parse("0.3 kg CO2e").getUnit());
+	}
+
+	@Test
+	public void testParseNoUnit() {
+		Quantity quantity = QuantityParser.parse("3");
+		assertEquals(Unit.NONE, quantity.getUnit());
+		assertEquals(3d, quantity.getAmount(), 0d);
+	}
+
+	@Test
+	public void testParseAmbiguousUnitWithDensity() {
+		// flour
+		assertEquals(Unit.TABLESPOON_DRY, QuantityParser.parse("2 EL", 0.6).getUnit());
+		assertEquals(Unit.GALLON_DRY, QuantityParser.parse("1 gal", 0.6).getUnit());
+		// milk
+		assertEquals(Unit.TABLESPOON_LIQUID, QuantityParser.parse("2 EL", 1.03).getUnit());
+		// unknown density
+		assertEquals(Unit.TEASPOON_LIQUID, QuantityParser.parse("2 TL", (Double) null).getUnit());
+		// unambiguous unit
+		assertEquals(Unit.GRAM, QuantityParser.parse("2 g", 0.6).getUnit());
+	}
+
+	@Test
+	public void testParseUnit() {
+		assertEquals(Unit.GILL_DRY, QuantityParser.parseUnit("gill", 0.5));
+		assertNull(QuantityParser.parseUnit("furlong", null));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testParseUnknownUnit() {
+		QuantityParser.parse("3 furlong");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testParseNoAmount() {
+		QuantityParser.parse("kg");
+	}
+
+	@Test
+	public void testParseLongNumber() {
+		assertEquals(1234567890.123456789123, QuantityParser.parse("1234567890.123456789123 g").getAmount(), 1e-6);
+	}
+
+}
@@ -0,0 +1,93 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class QuantityVectorTest {
+
+	private QuantityVector vector;
+
+	@Before
+	public void setUp() throws Exception {
+		this.vector = new QuantityVector(2);
+		this.vector.add(1d, Unit.KILOGRAM);
+		this.vector.add(500d, Unit.GRAM);
+		this.vector.add(new QuantityImpl(0.002, Unit.TON));
+	}
+
+	@Test
+	public void testSizeAndGet() {
+		assertEquals(3, this.vector.size());
+		assertEquals(Unit.GRAM, this.vector.getUnit(1));
+		assertEquals(500d, this.vector.getAmount(1), 0d);
+		assertEquals(new QuantityImpl(2d, Unit.KILOGRAM), this.vector.get(2));
+	}
+
+	@Test (expected = IndexOutOfBoundsException.class)
+	public void testGetOutOfBounds() {
+		this.vector.getAmount(3);
+	}
+
+	@Test
+	public void testSum() {
+		assertEquals(3.5, this.vector.sum(Unit.KILOGRAM), 1e-12);
+	}
+
+	@Test
+	public void testScale() {
+		this.vector.scale(2d);
+		assertEquals(7d, this.vector.sum(Unit.KILOGRAM), 1e-12);
+	}
+
+	@Test
+	public void testConvert() {
+		this.vector.convert(Unit.GRAM);
+		double[] amounts = new double[3];
+		this.vector.getAmounts(Unit.GRAM, amounts);
+		assertArrayEquals(new double[] { 1000d, 500d, 2000d }, amounts, 1e-9);
+		assertEquals(Unit.GRAM, this.vector.getUnit(0));
+	}
+
+	@Test
+	public void testConvertFailureChangesNothing() {
+		this.vector.add(1d, Unit.LITRE);
+		try {
+			this.vector.convert(Unit.GRAM);
+			fail("IllegalArgumentException expected");
+		} catch (IllegalArgumentException e) {
+			assertEquals(Unit.KILOGRAM, this.vector.getUnit(0));
+			assertEquals(1d, this.vector.getAmount(0), 0d);
+		}
+	}
+
+	@Test
+	public void testNormalize() {
+		this.vector.add(2d, Unit.DECILITRE);
+		this.vector.add(3d, Unit.PIECE);
+		this.vector.normalize();
+		assertEquals(Unit.KILOGRAM, this.vector.getUnit(1));
+		assertEquals(0.5, this.vector.getAmount(1), 1e-12);
+		assertEquals(Unit.LITRE, this.vector.getUnit(3));
+		assertEquals(0.2, this.vector.getAmount(3), 1e-12);
+		assertEquals(Unit.PIECE, this.vector.getUnit(4));
+	}
+
+	@Test
+	public void testDot() {
+		double[] factors = { 1d, 2d, 3d };
+		assertEquals(1d + 1d + 6d, this.vector.dot(Unit.KILOGRAM, factors), 1e-12);
+		QuantityVector other = new QuantityVector(Arrays.asList(new QuantityImpl(1d, Unit.KG_CO2E),
+				new QuantityImpl(2000d, Unit.G_CO2E), new QuantityImpl(3d, Unit.KG_CO2E)));
+		assertEquals(8d, this.vector.dot(Unit.KILOGRAM, other, Unit.KG_CO2E), 1e-12);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testDotWrongSize() {
+		this.vector.dot(Unit.KILOGRAM, new double[2]);
+	}
+
+}
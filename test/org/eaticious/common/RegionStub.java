@@ -0,0 +1,74 @@
+package org.eaticious.common;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal {@link Region} used by tests, only name, emission factor and specification are supported
+ */
+public class RegionStub implements Region {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String name;
+
+	private final EmissionFactor emissionFactor;
+
+	private final RegionSpecification specification;
+
+	public RegionStub(String name) {
+		this(name, null, null);
+	}
+
+	public RegionStub(String name, EmissionFactor emissionFactor, RegionSpecification specification) {
+		this.name = name;
+		this.emissionFactor = emissionFactor;
+		this.specification = specification;
+	}
+
+	@Override
+	public String getFCLCode() {
+		return null;
+	}
+
+	@Override
+	public String getISOCode() {
+		return null;
+	}
+
+	@Override
+	public String getName(Language language) {
+		return this.name;
+	}
+
+	@Override
+	public Region getParent() {
+		return null;
+	}
+
+	@Override
+	public List<Region> getChildren() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public EmissionFactor getEmissionFactor() {
+		return this.emissionFactor;
+	}
+
+	@Override
+	public RegionSpecification getRegionSpecification() {
+		return this.specification;
+	}
+
+	@Override
+	public RegionType getRegionType() {
+		return RegionType.COUNTRY;
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SeasonIndexTest {
+
+	private Region switzerland;
+
+	private FoodProductStub asparagus;
+
+	private FoodProductStub kale;
+
+	private FoodProductStub rice;
+
+	private SeasonIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		this.switzerland = new RegionStub("Switzerland");
+		this.asparagus = new FoodProductStub("asparagus").addSeason(this.switzerland,
+				season(1, Calendar.APRIL, 30, Calendar.JUNE, SeasonType.MAIN_SEASON));
+		this.kale = new FoodProductStub("kale").addSeason(this.switzerland,
+				season(1, Calendar.NOVEMBER, 28, Calendar.FEBRUARY, SeasonType.MAIN_SEASON)).addSeason(
+				this.switzerland, season(1, Calendar.MARCH, 31, Calendar.MARCH, SeasonType.OUT_OF_SEASON));
+		this.rice = new FoodProductStub("rice");
+		List<FoodProduct> products = new ArrayList<FoodProduct>();
+		products.add(this.asparagus);
+		products.add(this.kale);
+		products.add(this.rice);
+		// enough products to need more than one word
+		for (int i = 0; i < 100; i++) {
+			products.add(new FoodProductStub("filler" + i));
+		}
+		products.add(new FoodProductStub("late asparagus").addSeason(this.switzerland,
+				season(1, Calendar.MAY, 31, Calendar.MAY, SeasonType.MAIN_SEASON)));
+		this.index = new SeasonIndex(this.switzerland, products);
+	}
+
+	private static Season season(int beginDay, int beginMonth, int endDay, int endMonth, SeasonType type) {
+		Season season = new SeasonImpl();
+		season.setBeginning(beginDay, beginMonth);
+		season.setEnd(endDay, endMonth);
+		season.setSeasonType(type);
+		return season;
+	}
+
+	@Test
+	public void testGetProducts() {
+		int march14 = DayOfYear.of(14, Calendar.MARCH);
+		assertEquals(Arrays.asList(this.kale), this.index.getProducts(march14, SeasonType.OUT_OF_SEASON));
+		assertTrue(this.index.getProducts(march14, SeasonType.MAIN_SEASON).isEmpty());
+		assertEquals(Arrays.asList(this.kale), this.index.getProducts(DayOfYear.of(1, Calendar.JANUARY),
+				SeasonType.MAIN_SEASON));
+		assertEquals(2, this.index.count(DayOfYear.of(15, Calendar.MAY), SeasonType.MAIN_SEASON));
+	}
+
+	@Test
+	public void testIsInSeason() {
+		int id = this.index.getId(this.asparagus);
+		assertEquals(0, id);
+		assertTrue(this.index.isInSeason(id, DayOfYear.of(30, Calendar.JUNE), SeasonType.MAIN_SEASON));
+		assertFalse(this.index.isInSeason(id, DayOfYear.of(1, Calendar.JULY), SeasonType.MAIN_SEASON));
+		assertEquals(-1, this.index.getId(new FoodProductStub("unknown")));
+	}
+
+	@Test
+	public void testIntersect() {
+		long[] mask = this.index.toMask(Arrays.asList(this.asparagus, this.rice));
+		this.index.intersect(DayOfYear.of(15, Calendar.MAY), SeasonType.MAIN_SEASON, mask);
+		assertEquals(Arrays.asList(this.asparagus), this.index.fromMask(mask));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testInvalidDay() {
+		this.index.count(DayOfYear.DAYS, SeasonType.MAIN_SEASON);
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.eaticious.common;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SeasonMaskTest {
+
+	private Region region;
+
+	private FoodProductStub tomato;
+
+	private FoodProductStub basil;
+
+	@Before
+	public void setUp() throws Exception {
+		this.region = new RegionStub("Switzerland");
+		this.tomato = new FoodProductStub("tomato").addSeason(this.region,
+				ImmutableSeason.parse("06-15", "09-30", SeasonType.MAIN_SEASON)).addSeason(this.region,
+				ImmutableSeason.parse("10-01", "10-31", SeasonType.OUT_OF_SEASON));
+		this.basil = new FoodProductStub("basil").addSeason(this.region,
+				ImmutableSeason.parse("05-01", "07-31", SeasonType.MAIN_SEASON));
+	}
+
+	@Test
+	public void testWrapAround() {
+		SeasonMask winter = SeasonMask.of(ImmutableSeason.parse("12-01", "02-28", SeasonType.MAIN_SEASON));
+		assertEquals(31 + 31 + 28, winter.cardinality());
+		assertTrue(winter.contains(DayOfYear.of(31, Calendar.DECEMBER)));
+		assertTrue(winter.contains(0));
+		assertFalse(winter.contains(DayOfYear.of(1, Calendar.MARCH)));
+		assertEquals(DayOfYear.DAYS - winter.cardinality(), winter.complement().cardinality());
+		assertEquals(SeasonMask.ALL, winter.union(winter.complement()));
+		assertTrue(winter.intersect(winter.complement()).isEmpty());
+	}
+
+	@Test
+	public void testToSeasons() {
+		SeasonMask winter = SeasonMask.of(DayOfYear.of(1, Calendar.DECEMBER), DayOfYear.of(28, Calendar.FEBRUARY));
+		List<Season> seasons = winter.toSeasons(SeasonType.MAIN_SEASON);
+		assertEquals(1, seasons.size());
+		assertEquals(DayOfYear.of(1, Calendar.DECEMBER), seasons.get(0).getBeginDay());
+		assertEquals(DayOfYear.of(28, Calendar.FEBRUARY), seasons.get(0).getEndDay());
+
+		SeasonMask split = SeasonMask.of(0, 9).union(SeasonMask.of(100, 109));
+		seasons = split.toSeasons(null);
+		assertEquals(2, seasons.size());
+		assertEquals(0, seasons.get(0).getBeginDay());
+		assertEquals(109, seasons.get(1).getEndDay());
+		assertEquals(split, SeasonMask.of(seasons.get(0)).union(SeasonMask.of(seasons.get(1))));
+	}
+
+	@Test
+	public void testOverlap() {
+		SeasonMask tomato = SeasonMask.of(this.tomato, this.region, SeasonType.MAIN_SEASON);
+		SeasonMask basil = SeasonMask.of(this.basil, this.region, SeasonType.MAIN_SEASON);
+		// 15th of June to 31st of July
+		assertEquals(16 + 31, tomato.overlapDays(basil));
+		assertEquals(tomato.intersect(basil), SeasonMask.intersectAll(Arrays.asList(this.tomato, this.basil),
+				this.region, SeasonType.MAIN_SEASON));
+		assertEquals(tomato.union(basil).cardinality(), SeasonMask.unionAll(Arrays.asList(this.tomato, this.basil),
+				this.region, SeasonType.MAIN_SEASON).cardinality());
+		assertEquals(tomato.cardinality() + 31, SeasonMask.of(this.tomato, this.region, null).cardinality());
+	}
+
+	@Test
+	public void testBulkOverlap() {
+		SeasonMask july = SeasonMask.of(DayOfYear.of(1, Calendar.JULY), DayOfYear.of(31, Calendar.JULY));
+		int[] days = SeasonMask.overlapDays(Arrays.asList(this.tomato, this.basil, new FoodProductStub("rice")),
+				this.region, SeasonType.MAIN_SEASON, july);
+		assertArrayEquals(new int[] { 31, 31, 0 }, days);
+	}
+
+}
@@ -273,6 +273,52 @@ public class SeasonTest {
 		assertTrue(actual.get(Calendar.DATE) == 31 && actual.get(Calendar.MONTH) == month);
 	}
 
+	@Test
+	public void testIsInSeasonWrapAround() {
+		this.season.setBeginning(1, Calendar.NOVEMBER);
+		this.season.setEnd(28, Calendar.FEBRUARY);
+		assertTrue(this.season.isInSeason(new GregorianCalendar(2011, Calendar.DECEMBER, 24)));
+		assertTrue(this.season.isInSeason(new GregorianCalendar(2012, Calendar.JANUARY, 15)));
+		assertTrue(this.season.isInSeason(new GregorianCalendar(2012, Calendar.FEBRUARY, 29)));
+		assertFalse(this.season.isInSeason(new GregorianCalendar(2012, Calendar.MARCH, 1)));
+		assertFalse(this.season.isInSeason(new GregorianCalendar(2012, Calendar.OCTOBER, 31)));
+		assertEquals(2002, this.season.getEnd().get(Calendar.YEAR));
+	}
+
+	@Test
+	public void testIsInSeasonDayOfYear() {
+		this.season.setBeginning(1, Calendar.FEBRUARY);
+		this.season.setEnd(30, Calendar.MAY);
+		assertEquals(31, this.season.getBeginDay());
+		assertEquals(149, this.season.getEndDay());
+		assertFalse(this.season.isInSeason(30));
+		assertTrue(this.season.isInSeason(31));
+		assertTrue(this.season.isInSeason(149));
+		assertFalse(this.season.isInSeason(150));
+	}
+
+	@Test
+	public void testSetBeginningKeepsEnd() {
+		this.season.setBeginning(1, Calendar.MARCH);
+		this.season.setEnd(31, Calendar.MAY);
+		this.season.setBeginning(1, Calendar.APRIL);
+		Calendar actual = this.season.getEnd();
+		assertTrue(31 == actual.get(Calendar.DATE) && Calendar.MAY == actual.get(Calendar.MONTH));
+	}
+
+	@Test
+	public void testDayOfYear() {
+		assertEquals(0, DayOfYear.of(1, Calendar.JANUARY));
+		assertEquals(58, DayOfYear.of(29, Calendar.FEBRUARY));
+		assertEquals(364, DayOfYear.of(new GregorianCalendar(2012, Calendar.DECEMBER, 31)));
+		assertEquals(59, DayOfYear.of(new GregorianCalendar(2012, Calendar.MARCH, 1).getTime()));
+		assertEquals(Calendar.MARCH, DayOfYear.getMonth(59));
+		assertEquals(1, DayOfYear.getDayOfMonth(59));
+		for (int day = 0; day < DayOfYear.DAYS; day++) {
+			assertEquals(day, DayOfYear.of(DayOfYear.toCalendar(day, 1996).getTime()));
+		}
+	}
+
 	private Double makeDateComparator(Calendar cal){
 		return cal.get(Calendar.MONTH) * 1e+3 + cal.get(Calendar.DATE);
 	}
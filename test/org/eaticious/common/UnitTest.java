@@ -75,4 +75,94 @@ public class UnitTest {
 		assertEquals(new Double(0.001), unit.getConversionFactor(Unit.LITRE));
 	}
 
+	@Test
+	public void testIsNotConvertableSameUnitOther() {
+		assertFalse(Unit.PIECE.isConvertable(Unit.PIECE));
+	}
+
+	@Test
+	public void testConversionFactorsRoundTrip() {
+		for (Unit from : Unit.values()) {
+			for (Unit to : Unit.values()) {
+				if (from.isConvertable(to)) {
+					assertEquals(1d, from.getConversionFactor(to) * to.getConversionFactor(from), 1e-12);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testConvertValue() {
+		assertEquals(1.5, Unit.GRAM.convertValue(1500d, Unit.KILOGRAM), 1e-12);
+	}
+
+	@Test
+	public void testConvertAll() {
+		double[] values = { 1d, 2d, 3d, 4d };
+		double[] result = new double[4];
+		Unit.KILOGRAM.convertAll(values, 1, 2, Unit.GRAM, result);
+		assertArrayEquals(new double[] { 0d, 2000d, 3000d, 0d }, result, 1e-9);
+	}
+
+	@Test
+	public void testConvertAllInPlace() {
+		double[] values = { 1d, 2d };
+		Unit.KILOMETER.convertAll(values, 0, 2, Unit.METER, values);
+		assertArrayEquals(new double[] { 1000d, 2000d }, values, 1e-9);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConvertAllError() {
+		Unit.KILOGRAM.convertAll(new double[1], 0, 1, Unit.LITRE, new double[1]);
+	}
+
+	@Test (expected = IndexOutOfBoundsException.class)
+	public void testConvertAllRange() {
+		Unit.KILOGRAM.convertAll(new double[2], 1, 2, Unit.GRAM, new double[3]);
+	}
+
+	@Test
+	public void testConvertAllMixedUnits() {
+		double[] values = { 1d, 500d, 2d };
+		Unit[] units = { Unit.KILOGRAM, Unit.GRAM, Unit.TON };
+		byte[] ordinals = { (byte) Unit.KILOGRAM.ordinal(), (byte) Unit.GRAM.ordinal(), (byte) Unit.TON.ordinal() };
+		double[] expected = { 1d, 0.5, 2000d };
+		double[] result = new double[3];
+		Unit.convertAll(values, units, 0, 3, Unit.KILOGRAM, result);
+		assertArrayEquals(expected, result, 1e-9);
+		result = new double[3];
+		Unit.convertAll(values, ordinals, 0, 3, Unit.KILOGRAM, result);
+		assertArrayEquals(expected, result, 1e-9);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConvertAllMixedUnitsError() {
+		Unit.convertAll(new double[2], new Unit[] { Unit.GRAM, Unit.LITRE }, 0, 2, Unit.KILOGRAM, new double[2]);
+	}
+
+	@Test
+	public void testConvertAllMixedUnitsErrorInPlace() {
+		double[] values = new double[] { 1000d, 2d, 3d };
+		try {
+			Unit.convertAll(values, new Unit[] { Unit.GRAM, Unit.TON, Unit.LITRE }, 0, 3, Unit.KILOGRAM, values);
+			fail("LITRE cannot be converted into KILOGRAM");
+		} catch (IllegalArgumentException e) {
+			assertArrayEquals(new double[] { 1000d, 2d, 3d }, values, 0d);
+		}
+		try {
+			Unit.convertAll(values, new byte[] { (byte) Unit.GRAM.ordinal(), (byte) Unit.TON.ordinal(),
+					(byte) Unit.LITRE.ordinal() }, 0, 3, Unit.KILOGRAM, values);
+			fail("LITRE cannot be converted into KILOGRAM");
+		} catch (IllegalArgumentException e) {
+			assertArrayEquals(new double[] { 1000d, 2d, 3d }, values, 0d);
+		}
+	}
+
+	@Test
+	public void testFromOrdinal() {
+		for (Unit unit : Unit.values()) {
+			assertSame(unit, Unit.fromOrdinal(unit.ordinal()));
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.eaticious.common.co2e;
+
+import static org.junit.Assert.*;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CO2eAccumulatorTest {
+
+	private CO2eAccumulator accumulator;
+
+	@Before
+	public void setUp() throws Exception {
+		this.accumulator = new CO2eAccumulator();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0d, this.accumulator.getSum(), 0d);
+		assertEquals(Unit.KG_CO2E, this.accumulator.getTotal().getUnit());
+	}
+
+	@Test
+	public void testAddDifferentUnits() {
+		this.accumulator.add(new QuantityImpl(1d, Unit.KG_CO2E));
+		this.accumulator.add(new QuantityImpl(500d, Unit.G_CO2E));
+		this.accumulator.add(0.001, Unit.T_CO2E);
+		Quantity total = this.accumulator.getTotal();
+		assertEquals(2.5, total.getAmount(), 1e-12);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddWrongDimension() {
+		this.accumulator.add(new QuantityImpl(1d, Unit.KILOGRAM));
+	}
+
+	@Test
+	public void testSubstract() {
+		this.accumulator.add(2d).substract(new QuantityImpl(500d, Unit.G_CO2E));
+		assertEquals(1.5, this.accumulator.getSum(), 1e-12);
+	}
+
+	@Test
+	public void testCompensatedSum() {
+		// a naive sum returns 0.0 here
+		this.accumulator.add(1d).add(1e100).add(1d).add(-1e100);
+		assertEquals(2d, this.accumulator.getSum(), 0d);
+	}
+
+	@Test
+	public void testManySmallValues() {
+		double naive = 0d;
+		for (int i = 0; i < 1000000; i++) {
+			this.accumulator.add(0.1);
+			naive += 0.1;
+		}
+		assertEquals(100000d, this.accumulator.getSum(), 1e-9);
+		assertTrue(Math.abs(naive - 100000d) > Math.abs(this.accumulator.getSum() - 100000d));
+	}
+
+	@Test
+	public void testAddAccumulatorAndReset() {
+		CO2eAccumulator other = new CO2eAccumulator().add(3d);
+		this.accumulator.add(1d).add(other);
+		assertEquals(4d, this.accumulator.getSum(), 0d);
+		assertEquals(3d, other.getSum(), 0d);
+		this.accumulator.reset();
+		assertEquals(0d, this.accumulator.getSum(), 0d);
+	}
+
+}
@@ -0,0 +1,46 @@
+package org.eaticious.common.co2e;
+
+import static org.junit.Assert.*;
+
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.junit.Test;
+
+public class RFITableTest {
+
+	@Test
+	public void testEcoTransIT() {
+		RFITable table = RFITable.ECOTRANSIT_2012;
+		assertEquals(1d, table.getRFIFactor(100d), 0d);
+		assertEquals(1.81, table.getRFIFactor(750d), 0d);
+		assertEquals(2.87, table.getRFIFactor(20000d), 0d);
+		assertEquals(2.18 + (2.52 - 2.18) / 2, table.getRFIFactor(1500d), 1e-12);
+		assertEquals(2.52, table.getRFIFactor(new QuantityImpl(2000000d, Unit.METER)), 0d);
+	}
+
+	@Test
+	public void testSameAsCalculator() {
+		for (double distance = 1d; distance < 12000d; distance += 7.3) {
+			assertEquals(RFICalculator.getRFIFactor(distance), RFITable.ECOTRANSIT_2012.getRFIFactor(distance), 0d);
+		}
+	}
+
+	@Test
+	public void testCustomTable() {
+		RFITable table = new RFITable("test", new double[] { 100d, 200d }, new double[] { 1d, 3d });
+		assertEquals("test", table.getName());
+		assertEquals(2d, table.getRFIFactor(150d), 1e-12);
+		assertEquals(1.9, RFITable.constant("flat", 1.9).getRFIFactor(5000d), 0d);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnsortedDistances() {
+		new RFITable("test", new double[] { 200d, 100d }, new double[] { 1d, 3d });
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testZeroDistance() {
+		RFITable.ECOTRANSIT_2012.getRFIFactor(0d);
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.eaticious.common.co2e.distance;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.eaticious.common.Region;
+import org.eaticious.common.RegionStub;
+import org.eaticious.common.Unit;
+import org.junit.Test;
+
+public class DistanceMatrixTest {
+
+	private static final AirportIndex INDEX = new AirportIndex(new String[] { "FRA", "JFK", "ZRH", "NBO", "SYD" },
+			new double[] { 50.0333, 40.6398, 47.4647, -1.3192, -33.9461 }, new double[] { 8.5706, -73.7789, 8.5492,
+					36.9278, 151.1772 });
+
+	@Test
+	public void testCompute() {
+		DistanceMatrix matrix = DistanceMatrix.compute(INDEX, 4);
+		assertEquals(4, matrix.size());
+		assertEquals(-1, matrix.indexOf("SYD"));
+		assertEquals(2, matrix.indexOf("ZRH"));
+		for (int i = 0; i < matrix.size(); i++) {
+			assertEquals(0d, matrix.getDistance(i, i), 0d);
+			for (int j = 0; j < matrix.size(); j++) {
+				assertEquals(INDEX.getDistance(i, j), matrix.getDistance(i, j), 1e-2);
+				assertEquals(matrix.getDistance(i, j), matrix.getDistance(j, i), 0d);
+			}
+		}
+	}
+
+	@Test
+	public void testWriteAndOpen() throws IOException {
+		DistanceMatrix matrix = DistanceMatrix.compute(INDEX, 10);
+		File file = File.createTempFile("distances", ".bin");
+		file.deleteOnExit();
+		matrix.write(file);
+		assertEquals(8 + 5 * 4 + 10 * 4, file.length());
+		DistanceMatrix mapped = DistanceMatrix.open(file);
+		assertEquals(5, mapped.size());
+		for (int i = 0; i < mapped.size(); i++) {
+			assertEquals(INDEX.getCode(i), mapped.getCode(i));
+			for (int j = 0; j < mapped.size(); j++) {
+				assertEquals(matrix.getDistance(i, j), mapped.getDistance(i, j), 0d);
+			}
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testOpenInvalid() throws IOException {
+		File file = File.createTempFile("distances", ".bin");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		out.close();
+		DistanceMatrix.open(file);
+	}
+
+	@Test
+	public void testOpenCorruptSize() throws IOException {
+		File file = File.createTempFile("distances", ".bin");
+		file.deleteOnExit();
+		for (int size : new int[] { -1, 32769, Integer.MAX_VALUE, 100 }) {
+			ByteBuffer header = ByteBuffer.allocate(8);
+			header.putInt(DistanceMatrix.MAGIC);
+			header.putInt(size);
+			FileOutputStream out = new FileOutputStream(file);
+			out.write(header.array());
+			out.close();
+			try {
+				DistanceMatrix.open(file);
+				fail("Size " + size + " accepted");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testComputeTooLarge() {
+		int size = 32769;
+		String[] codes = new String[size];
+		for (int i = 0; i < size; i++) {
+			codes[i] = "A" + i;
+		}
+		DistanceMatrix.compute(new AirportIndex(codes, new double[size], new double[size]), size);
+	}
+
+	@Test
+	public void testAirDistanceService() {
+		AirDistanceService computing = new AirDistanceService(INDEX);
+		AirDistanceService precomputed = new AirDistanceService(INDEX, DistanceMatrix.compute(INDEX, 3));
+		for (int i = 0; i < INDEX.size(); i++) {
+			for (int j = 0; j < INDEX.size(); j++) {
+				assertEquals(computing.getFlightDistance(i, j), precomputed.getFlightDistance(i, j), 1e-2);
+			}
+		}
+		assertEquals(0d, computing.getFlightDistance(1, 1), 0d);
+		assertEquals(INDEX.getDistance(0, 4) + AirDistanceService.DETOUR, computing.getFlightDistance("FRA", "SYD")
+				.amountIn(Unit.KILOMETER), 1e-9);
+
+		Region switzerland = new RegionStub("Switzerland");
+		Region kenya = new RegionStub("Kenya");
+		INDEX.setAirport(switzerland, "ZRH");
+		INDEX.setAirport(kenya, "NBO");
+		assertEquals(precomputed.getFlightDistance("NBO", "ZRH").amountIn(Unit.KILOMETER), precomputed
+				.getFlightDistance(kenya, switzerland).amountIn(Unit.KILOMETER), 0d);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnknownAirport() {
+		new AirDistanceService(INDEX).getFlightDistance("FRA", "XXX");
+	}
+
+}
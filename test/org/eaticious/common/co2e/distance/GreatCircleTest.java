@@ -0,0 +1,38 @@
+package org.eaticious.common.co2e.distance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GreatCircleTest {
+
+	@Test
+	public void testDistance() {
+		assertEquals(0d, GreatCircle.distance(47.46, 8.55, 47.46, 8.55), 0d);
+		// one degree along the equator
+		assertEquals(Math.PI * GreatCircle.EARTH_RADIUS / 180d, GreatCircle.distance(0d, 0d, 0d, 1d), 1e-9);
+		// antipodal points
+		assertEquals(Math.PI * GreatCircle.EARTH_RADIUS, GreatCircle.distance(0d, 0d, 0d, 180d), 1e-9);
+		assertEquals(Math.PI * GreatCircle.EARTH_RADIUS / 2d, GreatCircle.distance(0d, 30d, 90d, 0d), 1e-9);
+		// Zurich to New York JFK, about 6310 km
+		assertEquals(6310d, GreatCircle.distance(47.4647, 8.5492, 40.6398, -73.7789), 10d);
+	}
+
+	@Test
+	public void testDistancesRadians() {
+		double[] lats = new double[] { 0d, 0.5, -1d, 1.2 };
+		double[] lons = new double[] { 0d, -2d, 3d, 0.1 };
+		double[] cosLats = new double[lats.length];
+		for (int i = 0; i < lats.length; i++) {
+			cosLats[i] = Math.cos(lats[i]);
+		}
+		double[] result = new double[lats.length];
+		GreatCircle.distancesRadians(0.3, 0.7, Math.cos(0.3), lats, lons, cosLats, 1, 3, result);
+		assertEquals(0d, result[0], 0d);
+		for (int i = 1; i < lats.length; i++) {
+			assertEquals(GreatCircle.distance(Math.toDegrees(0.3), Math.toDegrees(0.7), Math.toDegrees(lats[i]),
+					Math.toDegrees(lons[i])), result[i], 1e-9);
+		}
+	}
+
+}
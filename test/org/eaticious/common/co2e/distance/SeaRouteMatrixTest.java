@@ -0,0 +1,113 @@
+package org.eaticious.common.co2e.distance;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.CargoShip.ShippingRoute;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SeaRouteMatrixTest {
+
+	private static SeaRouteMatrix matrix;
+
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		// simplified network with rounded distances
+		SeaLaneGraph graph = new SeaLaneGraph();
+		graph.addPort("NLRTM", SeaLaneGraph.EUROPE);
+		graph.addPort("DEHAM", SeaLaneGraph.EUROPE);
+		graph.addWaypoint("Gibraltar");
+		graph.addWaypoint("Suez");
+		graph.addWaypoint("Panama");
+		graph.addPort("SGSIN", "AS");
+		graph.addPort("CNSHA", "AS");
+		graph.addPort("USNYC", "NA");
+		graph.addPort("USLAX", "NA");
+		graph.addPort("AUSYD", "OC");
+		graph.addLane("NLRTM", "DEHAM", 500d);
+		graph.addLane("NLRTM", "Gibraltar", 2600d);
+		graph.addLane("Gibraltar", "Suez", 3300d);
+		graph.addLane("Suez", "SGSIN", 8300d, ShippingRoute.SUEZ);
+		graph.addLane("SGSIN", "CNSHA", 3800d);
+		graph.addLane("NLRTM", "USNYC", 6200d, ShippingRoute.TRANSATLANTIC);
+		graph.addLane("USNYC", "Panama", 3700d);
+		graph.addLane("Panama", "USLAX", 5400d, ShippingRoute.PANAMA);
+		graph.addLane("USLAX", "CNSHA", 10500d, ShippingRoute.TRANSPACIFIC);
+		matrix = SeaRouteMatrix.compute(graph);
+	}
+
+	@Test
+	public void testPorts() {
+		assertEquals(7, matrix.size());
+		assertEquals(-1, matrix.indexOf("Suez"));
+		assertEquals("DEHAM", matrix.getCode(1));
+	}
+
+	@Test
+	public void testRoutes() {
+		assertRoute(500d, ShippingRoute.INTRA_CONTINENTAL_EU, "DEHAM", "NLRTM");
+		assertRoute(3800d, ShippingRoute.INTRA_CONTINENTAL, "SGSIN", "CNSHA");
+		assertRoute(14200d, ShippingRoute.SUEZ, "NLRTM", "SGSIN");
+		assertRoute(6700d, ShippingRoute.TRANSATLANTIC, "DEHAM", "USNYC");
+		// the canal takes precedence over the atlantic crossing
+		assertRoute(15300d, ShippingRoute.PANAMA, "NLRTM", "USLAX");
+		assertRoute(19600d, ShippingRoute.PANAMA, "CNSHA", "USNYC");
+		assertRoute(10500d, ShippingRoute.TRANSPACIFIC, "USLAX", "CNSHA");
+		assertRoute(9100d, ShippingRoute.PANAMA, "USNYC", "USLAX");
+	}
+
+	private static void assertRoute(double distance, ShippingRoute route, String from, String to) {
+		assertEquals(distance, matrix.getDistance(from, to).amountIn(Unit.KILOMETER), 1e-3);
+		assertEquals(distance, matrix.getDistance(to, from).amountIn(Unit.KILOMETER), 1e-3);
+		assertEquals(route, matrix.getRoute(from, to));
+		assertEquals(route, matrix.getRoute(to, from));
+	}
+
+	@Test
+	public void testUnconnected() {
+		int sydney = matrix.indexOf("AUSYD");
+		assertTrue(Double.isInfinite(matrix.getDistance(0, sydney)));
+		assertNull(matrix.getRoute(sydney, 0));
+		assertEquals(0d, matrix.getDistance(sydney, sydney), 0d);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnconnectedByCode() {
+		matrix.getRoute("AUSYD", "NLRTM");
+	}
+
+	@Test
+	public void testWriteAndOpen() throws IOException {
+		File file = File.createTempFile("searoutes", ".bin");
+		file.deleteOnExit();
+		matrix.write(file);
+		SeaRouteMatrix mapped = SeaRouteMatrix.open(file);
+		assertEquals(matrix.size(), mapped.size());
+		for (int i = 0; i < matrix.size(); i++) {
+			assertEquals(matrix.getCode(i), mapped.getCode(i));
+			for (int j = 0; j < matrix.size(); j++) {
+				assertEquals(matrix.getDistance(i, j), mapped.getDistance(i, j), 0d);
+				assertEquals(matrix.getRoute(i, j), mapped.getRoute(i, j));
+			}
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testOpenDistanceMatrix() throws IOException {
+		File file = File.createTempFile("distances", ".bin");
+		file.deleteOnExit();
+		DistanceMatrix.compute(new AirportIndex(new String[] { "FRA" }, new double[] { 50d }, new double[] { 8d }),
+				1).write(file);
+		SeaRouteMatrix.open(file);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnknownNode() {
+		new SeaLaneGraph().addLane("A", "B", 1d);
+	}
+
+}
@@ -0,0 +1,55 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.RFITable;
+import org.eaticious.common.co2e.transport.AirplaneSpecification.StandardModel;
+import org.junit.Test;
+
+public class AirplaneEmissionTableTest {
+
+	@Test
+	public void testErrorBound() {
+		for (StandardModel model : StandardModel.values()) {
+			Airplane exact = new Airplane(model);
+			Airplane table = new Airplane(model, true);
+			for (double km = 0.5; km < 3 * model.getMaxRange(); km += 97.3) {
+				Quantity distance = new QuantityImpl(km, Unit.KILOMETER);
+				double expected = exact.getTotalCO2e(distance, false).getAmount();
+				assertEquals(model + " " + km, expected, table.getTotalCO2e(distance, false).getAmount(),
+						expected * 1e-7);
+				expected = exact.getTotalCO2e(distance, true).getAmount();
+				assertEquals(model + " " + km, expected, table.getTotalCO2e(distance, true).getAmount(),
+						expected * 1e-7);
+			}
+		}
+	}
+
+	@Test
+	public void testCO2e() {
+		Quantity distance = new QuantityImpl(2345d, Unit.KILOMETER);
+		Quantity payload = new QuantityImpl(10d, Unit.KILOGRAM);
+		double expected = new Airplane(StandardModel.F_767_300F).getCO2e(distance, payload, true).getAmount();
+		double actual = new Airplane(StandardModel.F_767_300F, true).getCO2e(distance, payload, true).getAmount();
+		assertEquals(expected, actual, expected * 1e-7);
+	}
+
+	@Test
+	public void testOtherRFITable() {
+		Quantity distance = new QuantityImpl(1234.5, Unit.KILOMETER);
+		RFITable flat = RFITable.constant("flat", 2d);
+		double expected = new Airplane(StandardModel.P_757_200).getTotalCO2e(distance, flat).getAmount();
+		double actual = new Airplane(StandardModel.P_757_200, true).getTotalCO2e(distance, flat).getAmount();
+		assertEquals(expected, actual, expected * 1e-7);
+	}
+
+	@Test
+	public void testShared() {
+		assertSame(AirplaneEmissionTable.forModel(StandardModel.P_FOKKER100),
+				AirplaneEmissionTable.forModel(StandardModel.P_FOKKER100));
+	}
+
+}
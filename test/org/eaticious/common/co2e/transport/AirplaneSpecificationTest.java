@@ -101,4 +101,22 @@ public class AirplaneSpecificationTest {
 		
 	}
 
+	@Test
+	public void testFuelConsumptionRecompiled() {
+		spec.addConsumptionEntry(10d, 100d);
+		assertEquals(100d, spec.getFuelConsumption(10d), 0d);
+		spec.addConsumptionEntry(20d, 200d);
+		assertEquals(150d, spec.getFuelConsumption(15d), 1e-12);
+		// 150 km exceed the max range of 100 km and are flown as two flights of 75 km
+		assertEquals(2 * 750d, spec.getFuelConsumption(150d), 1e-9);
+	}
+
+	@Test
+	public void testStandardModelNotChanged() {
+		AirplaneSpecification spec = new AirplaneSpecification(StandardModel.P_FOKKER100);
+		int size = StandardModel.P_FOKKER100.getConsumptionProfile().size();
+		spec.addConsumptionEntry(1d, 1d);
+		assertEquals(size, StandardModel.P_FOKKER100.getConsumptionProfile().size());
+		assertEquals(size + 1, spec.getConsumptionProfile().size());
+	}
 }
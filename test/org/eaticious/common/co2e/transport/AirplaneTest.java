@@ -8,6 +8,7 @@ import java.util.Map;
 import org.eaticious.common.Quantity;
 import org.eaticious.common.QuantityImpl;
 import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.RFITable;
 import org.eaticious.common.co2e.transport.Airplane;
 import org.eaticious.common.co2e.transport.AirplaneSpecification;
 import org.eaticious.common.co2e.transport.AirplaneSpecification.AirplaneSize;
@@ -263,4 +264,58 @@ public class AirplaneTest {
 		Double actual = plane.getFuelConsumption(distance).getAmount();
 		assertEquals("Expected: " + expected + " - Actual: " + actual, expected, actual);
 	}
+
+	@Test
+	public void testGetTotalCO2eRFITable() {
+		Quantity distance = new QuantityImpl(1500d, Unit.KILOMETER);
+		double withoutRFI = plane.getTotalCO2e(distance, (RFITable) null).getAmount();
+		assertEquals(plane.getTotalCO2e(distance, true).getAmount(), plane.getTotalCO2e(distance,
+				RFITable.ECOTRANSIT_2012).getAmount(), 0d);
+		assertEquals(withoutRFI * 2d, plane.getTotalCO2e(distance, RFITable.constant("flat", 2d)).getAmount(), 1e-9);
+	}
+
+	@Test
+	public void testBatchSameAsScalar() {
+		Airplane airplane = new Airplane(StandardModel.F_747_400F);
+		double[] distances = new double[] { 0d, 350d, 1200d, 3000d, 8230d, 12000d, 25000d };
+		double[] payloads = new double[] { 5d, 800d, 1d, 20000d, 0.5, 113d, 7d };
+		double[] result = new double[distances.length];
+		airplane.getCO2e(payloads, distances, RFITable.ECOTRANSIT_2012, result, 1, distances.length - 1);
+		assertEquals(0d, result[0], 0d);
+		for (int i = 1; i < distances.length; i++) {
+			assertEquals(airplane.getCO2e(new QuantityImpl(distances[i], Unit.KILOMETER),
+					new QuantityImpl(payloads[i], Unit.KILOGRAM), true).getAmount(), result[i], 0d);
+		}
+		// split into ranges as done by parallel callers
+		double[] split = new double[distances.length];
+		airplane.getTotalCO2e(distances, null, split, 0, 3);
+		airplane.getTotalCO2e(distances, null, split, 3, distances.length - 3);
+		for (int i = 0; i < distances.length; i++) {
+			assertEquals(airplane.getTotalCO2e(new QuantityImpl(distances[i], Unit.KILOMETER), false).getAmount(),
+					split[i], 0d);
+		}
+	}
+
+	@Test (expected = IndexOutOfBoundsException.class)
+	public void testBatchRangeExceeded() {
+		plane.getTotalCO2e(new double[3], null, new double[2], 0, 3);
+	}
+
+	@Test
+	public void testKernel() {
+		SegmentContext context = new SegmentContext();
+		for (double km : new double[] { 500d, 2000d, 6310d }) {
+			context.setDistance(km);
+			context.setUseRFI(false);
+			double expected = plane.getCO2e(new QuantityImpl(km, Unit.KILOMETER), new QuantityImpl(753d,
+					Unit.KILOGRAM), false).getAmount();
+			assertEquals(expected, plane.kgCO2ePerKgKm(context) * 753d * km, expected * 1e-12);
+			context.setRFITable(RFITable.ECOTRANSIT_2012);
+			expected = plane.getCO2e(new QuantityImpl(km, Unit.KILOMETER), new QuantityImpl(753d, Unit.KILOGRAM),
+					RFITable.ECOTRANSIT_2012).getAmount();
+			assertEquals(expected, plane.kgCO2ePerKgKm(context) * 753d * km, expected * 1e-12);
+		}
+		context.setDistance(0d);
+		assertEquals(0d, plane.kgCO2ePerKgKm(context), 0d);
+	}
 }
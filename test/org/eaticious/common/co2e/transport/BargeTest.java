@@ -140,4 +140,45 @@ public class BargeTest {
 		assertEquals(expected, actual, 0.08 * expected);
 	}
 
+
+	@Test
+	public void testBatchSameAsScalar() {
+		final Barge barge = new Barge(BargeModel.BARGE_CONTAINER_STD);
+		VesselTestSupport.assertBatchSameAsScalar(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				barge.getCO2e(weights, distances, FoodProduct.TransportClass.VOLUME, true, result, off, len);
+			}
+		}, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return barge.getCO2e(new QuantityImpl(km, Unit.KILOMETER), new QuantityImpl(kg, Unit.KILOGRAM),
+						FoodProduct.TransportClass.VOLUME, true).getAmount();
+			}
+		});
+	}
+
+
+	@Test
+	public void testCO2eKg() {
+		SegmentContext context = new SegmentContext();
+		for (BargeModel model : BargeModel.values()) {
+			final Barge barge = new Barge(model);
+			for (final FoodProduct.TransportClass tc : FoodProduct.TransportClass.values()) {
+				for (final boolean correction : new boolean[] { true, false }) {
+					context.setTransportClass(tc);
+					context.setEcoTransitCorrection(correction);
+					double expected = model.getCO2ePerKGKM(tc)
+							* (correction ? model.getEcoTransitCorrectionFactor() : 1d);
+					VesselTestSupport.assertCO2ePerKGKM(expected, new VesselTestSupport.Scalar() {
+						@Override
+						public double co2eKg(double kg, double km) {
+							return barge.co2eKg(kg, km, tc, correction);
+						}
+					}, barge, context);
+				}
+			}
+		}
+	}
+
 }
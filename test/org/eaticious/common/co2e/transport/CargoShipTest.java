@@ -109,4 +109,41 @@ public class CargoShipTest {
 		assertEquals(expected, actual, 1e-8);
 	}
 
+
+	@Test
+	public void testBatchSameAsScalar() {
+		VesselTestSupport.assertBatchSameAsScalar(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				ship.getCO2e(weights, distances, TransportClass.VOLUME, ShippingRoute.SUEZ, result, off, len);
+			}
+		}, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return ship.getCO2e(new QuantityImpl(kg, Unit.KILOGRAM), TransportClass.VOLUME,
+						new QuantityImpl(km, Unit.KILOMETER), ShippingRoute.SUEZ).getAmount();
+			}
+		});
+	}
+
+
+	@Test
+	public void testCO2eKg() {
+		SegmentContext context = new SegmentContext();
+		for (final TransportClass tc : TransportClass.values()) {
+			for (final ShippingRoute route : ShippingRoute.values()) {
+				context.setTransportClass(tc);
+				context.setShippingRoute(route);
+				// 0.168 kg CO2e per TEUkm, from EcoTransIT
+				double expected = 0.168 * route.getEmissionFactor() / (tc.getTonsPerTEUKM() * 1000d);
+				VesselTestSupport.assertCO2ePerKGKM(expected, new VesselTestSupport.Scalar() {
+					@Override
+					public double co2eKg(double kg, double km) {
+						return ship.co2eKg(kg, km, tc, route);
+					}
+				}, ship, context);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,55 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsumptionCurveTest {
+
+	private ConsumptionCurve curve;
+
+	@Before
+	public void setUp() throws Exception {
+		Map<Double, Double> profile = new HashMap<Double, Double>();
+		profile.put(1000.0, 100.0);
+		profile.put(100.0, 10.0);
+		profile.put(200.0, 30.0);
+		this.curve = new ConsumptionCurve(profile);
+	}
+
+	@Test
+	public void testDefinedValue() {
+		assertEquals(30d, this.curve.getFuelConsumption(200d), 0d);
+	}
+
+	@Test
+	public void testInterpolation() {
+		assertEquals(20d, this.curve.getFuelConsumption(150d), 1e-12);
+		assertEquals(30d + 70d * 400d / 800d, this.curve.getFuelConsumption(600d), 1e-12);
+	}
+
+	@Test
+	public void testExtrapolation() {
+		assertEquals(5d, this.curve.getFuelConsumption(50d), 1e-12);
+		assertEquals(200d, this.curve.getFuelConsumption(2000d), 1e-12);
+	}
+
+	@Test
+	public void testMultipleTrips() {
+		// 3 flights of 200 km
+		assertEquals(90d, this.curve.getFuelConsumption(600d, 250d), 1e-12);
+		assertEquals(this.curve.getFuelConsumption(600d), this.curve.getFuelConsumption(600d, 1000d), 0d);
+	}
+
+	@Test
+	public void testEmpty() {
+		ConsumptionCurve empty = new ConsumptionCurve(new HashMap<Double, Double>());
+		assertTrue(empty.isEmpty());
+		assertEquals(0d, empty.getFuelConsumption(500d, 100d), 0d);
+	}
+
+}
@@ -118,4 +118,76 @@ public class ElectricTrainTest {
 		Double actual = stdTrain.getCO2e(weight, distance, energyMixFactor, landscape, tc).convert(Unit.KG_CO2E).getAmount();
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void testBatchSameAsScalar() {
+		VesselTestSupport.assertBatchSameAsScalar(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				stdTrain.getCO2e(weights, distances, 0.12, Landscape.HILL, TransportClass.BULK, result, off, len);
+			}
+		}, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return stdTrain.getCO2e(new QuantityImpl(kg, Unit.KILOGRAM), new QuantityImpl(km, Unit.KILOMETER),
+						0.12, Landscape.HILL, TransportClass.BULK).getAmount();
+			}
+		});
+	}
+
+	@Test
+	public void testBatchRangeExceeded() {
+		VesselTestSupport.assertBatchRangeChecked(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				bigTrain.getCO2e(weights, distances, 0.12, Landscape.FLAT, TransportClass.BULK, result, off, len);
+			}
+		});
+	}
+
+
+	@Test
+	public void testAllCombinations() {
+		for (Landscape landscape : Landscape.values()) {
+			for (TransportClass tc : TransportClass.values()) {
+				double expected = 0.0012 * Math.pow(4000, -0.62) * ElectricTrain.landscapeFactor.get(landscape)
+						/ ElectricTrain.transportClassFactor.get(tc);
+				assertEquals(expected, bigTrain.getFuelConsumptionPerKGKM(landscape, tc).getAmount(), 0d);
+			}
+		}
+	}
+
+	@Test (expected = UnsupportedOperationException.class)
+	public void testFactorsUnmodifiable() {
+		ElectricTrain.landscapeFactor.put(Landscape.FLAT, 2d);
+	}
+
+	@Test
+	public void testKernel() {
+		// fuel consumption factors of EcoTransIT by ordinal of Landscape and TransportClass
+		double[] landscapeFactors = { 0.9, 1.0, 1.1 };
+		double[] transportClassFactors = { 0.6, 0.52, 0.4, 0.52 };
+		SegmentContext context = new SegmentContext();
+		context.setEnergyMixFactor(0.5);
+		for (final Landscape landscape : Landscape.values()) {
+			for (final TransportClass tc : TransportClass.values()) {
+				context.setLandscape(landscape);
+				context.setTransportClass(tc);
+				double expected = 0.0012 * Math.pow(4000, -0.62) * landscapeFactors[landscape.ordinal()]
+						/ transportClassFactors[tc.ordinal()] * 0.5;
+				VesselTestSupport.assertCO2ePerKGKM(expected, new VesselTestSupport.Scalar() {
+					@Override
+					public double co2eKg(double kg, double km) {
+						return bigTrain.getCO2e(new QuantityImpl(kg, Unit.KILOGRAM), new QuantityImpl(km,
+								Unit.KILOMETER), 0.5, landscape, tc).getAmount();
+					}
+				}, bigTrain, context);
+			}
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testKernelWithoutLandscape() {
+		stdTrain.kgCO2ePerKgKm(new SegmentContext());
+	}
 }
@@ -0,0 +1,76 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+import org.eaticious.common.EmissionFactorImpl;
+import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Region;
+import org.eaticious.common.RegionSpecification;
+import org.eaticious.common.RegionStub;
+import org.eaticious.common.Unit;
+import org.junit.Test;
+
+public class RailEmissionFactorsTest {
+
+	private static RegionSpecification specification(final int gtw, final RegionSpecification.Landscape landscape) {
+		return new RegionSpecification() {
+
+			@Override
+			public int getTrainGTW() {
+				return gtw;
+			}
+
+			@Override
+			public RegionSpecification.Landscape getLandscape() {
+				return landscape;
+			}
+		};
+	}
+
+	@Test
+	public void testSameAsElectricTrain() {
+		Region region = new RegionStub("Switzerland", new EmissionFactorImpl("mix", 0.12, Unit.KILOWATTHOUR),
+				specification(1000, RegionSpecification.Landscape.MOUNTAIN));
+		ElectricTrain train = new ElectricTrain(ElectricTrainSpecification.TrainModel.EUROPEAN_STANDARD);
+		for (TransportClass tc : TransportClass.values()) {
+			double expected = train.getCO2e(new QuantityImpl(753d, Unit.KILOGRAM),
+					new QuantityImpl(412d, Unit.KILOMETER), 0.12, RegionSpecification.Landscape.MOUNTAIN, tc)
+					.getAmount();
+			assertEquals(expected, new RailEmissionFactors().co2eKg(region, tc, 753d, 412d), expected * 1e-12);
+		}
+	}
+
+	@Test
+	public void testInvalidate() {
+		EmissionFactorImpl mix = new EmissionFactorImpl("mix", 0.1, Unit.KILOWATTHOUR);
+		Region region = new RegionStub("Germany", mix, specification(4000, RegionSpecification.Landscape.FLAT));
+		RailEmissionFactors factors = new RailEmissionFactors();
+		double before = factors.getCO2ePerKGKM(region, TransportClass.BULK);
+		mix.setFactor(0.2);
+		assertEquals(before, factors.getCO2ePerKGKM(region, TransportClass.BULK), 0d);
+		factors.invalidate(region);
+		assertEquals(2d * before, factors.getCO2ePerKGKM(region, TransportClass.BULK), before * 1e-12);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testMissingSpecification() {
+		new RailEmissionFactors().getCO2ePerKGKM(new RegionStub("Nowhere"), TransportClass.BULK);
+	}
+
+	@Test
+	public void testClear() {
+		EmissionFactorImpl mix = new EmissionFactorImpl("mix", 0.1, Unit.KILOWATTHOUR);
+		Region region = new RegionStub("Austria", mix, specification(2000, RegionSpecification.Landscape.HILL));
+		RailEmissionFactors factors = new RailEmissionFactors();
+		RailEmissionFactors other = new RailEmissionFactors();
+		double before = factors.getCO2ePerKGKM(region, TransportClass.VOLUME);
+		mix.setFactor(0.3);
+		// separate instances keep separate caches
+		assertEquals(3d * before, other.getCO2ePerKGKM(region, TransportClass.VOLUME), before * 1e-12);
+		assertEquals(before, factors.getCO2ePerKGKM(region, TransportClass.VOLUME), 0d);
+		factors.clear();
+		assertEquals(3d * before, factors.getCO2ePerKGKM(region, TransportClass.VOLUME), before * 1e-12);
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
+import org.junit.Test;
+
+public class TruckFleetTest {
+
+	@Test
+	public void testSameAsAverage() {
+		Map<TruckModel, Double> mix = new EnumMap<TruckModel, Double>(TruckModel.class);
+		mix.put(TruckModel.TR_40000, 0.6);
+		mix.put(TruckModel.TR_24000, 0.3);
+		mix.put(TruckModel.TR_7500, 0.1);
+		TruckFleet fleet = new TruckFleet(mix);
+		double expected = 0d;
+		for (Map.Entry<TruckModel, Double> entry : mix.entrySet()) {
+			expected += entry.getValue() * new Truck(entry.getKey()).co2eKg(753d, 3819d, 0.8, 0.4);
+		}
+		assertEquals(expected, fleet.co2eKg(753d, 3819d, 0.8, 0.4), expected * 1e-12);
+		assertEquals(expected, fleet.getCO2e(new QuantityImpl(753d, Unit.KILOGRAM), 3819d, 0.8, 0.4).getAmount(),
+				expected * 1e-12);
+		assertEquals(expected / 753d / 3819d, fleet.getCO2ePerKGKM(0.8, 0.4).getAmount(), expected * 1e-12);
+	}
+
+	@Test
+	public void testSingleTruck() {
+		Truck truck = new Truck(TruckModel.TR_12000);
+		TruckFleet fleet = new TruckFleet(new TruckSpecification[] { new TruckSpecification(TruckModel.TR_12000) },
+				new double[] { 3d });
+		assertEquals(truck.co2eKg(200d, 50d, 0.5, 0.2), fleet.co2eKg(200d, 50d, 0.5, 0.2), 1e-12);
+	}
+
+	@Test
+	public void testBatch() {
+		final TruckFleet fleet = new TruckFleet(new TruckSpecification[] {
+				new TruckSpecification(TruckModel.TR_60000), new TruckSpecification(TruckModel.TR_7500) },
+				new double[] { 1d, 1d });
+		VesselTestSupport.assertBatchSameAsScalar(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				fleet.getCO2e(weights, distances, 0.7, 0.3, result, off, len);
+			}
+		}, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return fleet.co2eKg(kg, km, 0.7, 0.3);
+			}
+		});
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testNegativeWeight() {
+		new TruckFleet(new TruckSpecification[] { new TruckSpecification(TruckModel.TR_60000) },
+				new double[] { -1d });
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testZeroWeights() {
+		new TruckFleet(new EnumMap<TruckModel, Double>(TruckModel.class));
+	}
+
+	@Test
+	public void testCO2ePerKGKM() {
+		final TruckFleet fleet = new TruckFleet(new TruckSpecification[] {
+				new TruckSpecification(TruckModel.TR_40000), new TruckSpecification(TruckModel.TR_12000) },
+				new double[] { 2d, 1d });
+		SegmentContext context = new SegmentContext();
+		context.setLoadFactor(0.7);
+		context.setEmptyTripFactor(0.3);
+		double expected = (2d * new Truck(TruckModel.TR_40000).co2eKg(1d, 1d, 0.7, 0.3)
+				+ new Truck(TruckModel.TR_12000).co2eKg(1d, 1d, 0.7, 0.3)) / 3d;
+		VesselTestSupport.assertCO2ePerKGKM(expected, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return fleet.co2eKg(kg, km, 0.7, 0.3);
+			}
+		}, fleet, context);
+	}
+}
@@ -146,4 +146,44 @@ public class TruckTest {
 		assertEquals(expected, actual, 1e-2);
 	}
 
+
+	@Test
+	public void testBatchSameAsScalar() {
+		VesselTestSupport.assertBatchSameAsScalar(new VesselTestSupport.Batch() {
+			@Override
+			public void getCO2e(double[] weights, double[] distances, double[] result, int off, int len) {
+				truck40000.getCO2e(weights, distances, 0.8, 0.3, result, off, len);
+			}
+		}, new VesselTestSupport.Scalar() {
+			@Override
+			public double co2eKg(double kg, double km) {
+				return truck40000.getCO2e(new QuantityImpl(kg, Unit.KILOGRAM), km, 0.8, 0.3).getAmount();
+			}
+		});
+	}
+
+
+	@Test
+	public void testCO2eKg() {
+		SegmentContext context = new SegmentContext();
+		for (TruckModel model : TruckModel.values()) {
+			final Truck truck = new Truck(model);
+			for (final double[] factors : new double[][] { { 0.8, 0.4 }, { 1d, 0d } }) {
+				context.setLoadFactor(factors[0]);
+				context.setEmptyTripFactor(factors[1]);
+				// formula of EcoTransIT as used before the coefficients were precomputed
+				double utilization = factors[0] / (1 + factors[1]);
+				double fuel = (model.getFuelConsumptionEmpty() + utilization
+						* (model.getFuelConsumptionFull() - model.getFuelConsumptionEmpty())) * 1.4;
+				double expected = fuel / 100.0 * 2.676528 / (factors[0] * model.getPayloadCapacity());
+				VesselTestSupport.assertCO2ePerKGKM(expected, new VesselTestSupport.Scalar() {
+					@Override
+					public double co2eKg(double kg, double km) {
+						return truck.co2eKg(kg, km, factors[0], factors[1]);
+					}
+				}, truck, context);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,43 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+import org.eaticious.common.Quantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.AirplaneSpecification.StandardModel;
+import org.eaticious.common.co2e.transport.BargeSpecification.BargeModel;
+import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
+import org.junit.Test;
+
+public class VesselRegistryTest {
+
+	@Test
+	public void testShared() {
+		assertSame(VesselRegistry.getAirplane(StandardModel.F_747_400F),
+				VesselRegistry.getAirplane(StandardModel.F_747_400F));
+		assertSame(VesselRegistry.getAirplane(StandardModel.F_747_400F, false),
+				VesselRegistry.getAirplane(StandardModel.F_747_400F));
+		assertSame(VesselRegistry.getAirplane(StandardModel.F_747_400F, true),
+				VesselRegistry.getAirplane(StandardModel.F_747_400F, true));
+		assertSame(VesselRegistry.getTruck(TruckModel.values()[0]), VesselRegistry.getTruck(TruckModel.values()[0]));
+		assertSame(VesselRegistry.getBarge(BargeModel.BARGE_STD), VesselRegistry.getBarge(BargeModel.BARGE_STD));
+		assertNotNull(VesselRegistry.getCargoShip());
+	}
+
+	@Test
+	public void testSameResults() {
+		Quantity distance = new QuantityImpl(3000d, Unit.KILOMETER);
+		Quantity payload = new QuantityImpl(1d, Unit.TON);
+		for (StandardModel model : StandardModel.values()) {
+			assertEquals(new Airplane(model).getCO2e(distance, payload, true).getAmount(),
+					VesselRegistry.getAirplane(model).getCO2e(distance, payload, true).getAmount(), 0d);
+		}
+	}
+
+	@Test (expected = UnsupportedOperationException.class)
+	public void testStandardModelUnmodifiable() {
+		StandardModel.P_757_200.getConsumptionProfile().put(1d, 1d);
+	}
+
+}
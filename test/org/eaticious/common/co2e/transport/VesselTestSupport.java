@@ -0,0 +1,118 @@
+package org.eaticious.common.co2e.transport;
+
+import static org.junit.Assert.*;
+
+/**
+ * The fixture and assertions shared by the tests of the vessels
+ */
+final class VesselTestSupport {
+
+	/**
+	 * Transported weights in kilogram
+	 */
+	static final double[] WEIGHTS = { 753d, 12000d, 3d, 250d, 0.5 };
+
+	/**
+	 * Distances in kilometer, parallel to {@link #WEIGHTS}
+	 */
+	static final double[] DISTANCES = { 3819d, 12d, 640d, 95d, 7000d };
+
+	/**
+	 * A batch method of a vessel with all parameters but the columns fixed
+	 */
+	interface Batch {
+		void getCO2e(double[] weights, double[] distances, double[] result, int off, int len);
+	}
+
+	/**
+	 * The matching scalar method of a vessel
+	 */
+	interface Scalar {
+		double co2eKg(double kg, double km);
+	}
+
+	private VesselTestSupport() {
+		// static methods only
+	}
+
+	/**
+	 * Asserts that a batch method gives the same results as the scalar method, for the whole batch as well as for
+	 * ranges starting at off &gt; 0 as used by parallel callers, and that it writes nothing outside its range
+	 *
+	 * @param batch
+	 *            The batch method
+	 * @param scalar
+	 *            The scalar method
+	 */
+	static void assertBatchSameAsScalar(final Batch batch, final Scalar scalar) {
+		final int n = WEIGHTS.length;
+		final double[] expected = new double[n];
+		for (int i = 0; i < n; i++) {
+			expected[i] = scalar.co2eKg(WEIGHTS[i], DISTANCES[i]);
+		}
+		final double[] result = new double[n];
+		batch.getCO2e(WEIGHTS, DISTANCES, result, 0, n);
+		assertRelative(expected, result);
+
+		// split into ranges as done by parallel callers
+		final double[] split = new double[n];
+		batch.getCO2e(WEIGHTS, DISTANCES, split, 2, n - 2);
+		batch.getCO2e(WEIGHTS, DISTANCES, split, 0, 2);
+		assertRelative(expected, split);
+
+		// an inner range leaves the other elements untouched
+		final double[] inner = new double[n];
+		batch.getCO2e(WEIGHTS, DISTANCES, inner, 1, n - 2);
+		assertEquals(0d, inner[0], 0d);
+		assertEquals(0d, inner[n - 1], 0d);
+		for (int i = 1; i < n - 1; i++) {
+			assertEquals(expected[i], inner[i], 1e-12 * expected[i]);
+		}
+	}
+
+	/**
+	 * Asserts that the scalar method and the kernel of a vessel both match an independently computed emission for all
+	 * weights and distances of the fixture
+	 *
+	 * @param expected
+	 *            The expected CO2e in kg per kgkm
+	 * @param scalar
+	 *            The scalar method
+	 * @param vessel
+	 *            The vessel
+	 * @param context
+	 *            The parameters of the segment, the distance is set for each element of the fixture
+	 */
+	static void assertCO2ePerKGKM(final double expected, final Scalar scalar, final Vessel vessel,
+			final SegmentContext context) {
+		for (int i = 0; i < WEIGHTS.length; i++) {
+			final double co2e = expected * WEIGHTS[i] * DISTANCES[i];
+			assertEquals(co2e, scalar.co2eKg(WEIGHTS[i], DISTANCES[i]), co2e * 1e-12);
+			context.setDistance(DISTANCES[i]);
+			assertEquals(co2e, vessel.kgCO2ePerKgKm(context) * WEIGHTS[i] * DISTANCES[i], co2e * 1e-12);
+		}
+	}
+
+	/**
+	 * Asserts that a batch method rejects a range exceeding the result array
+	 *
+	 * @param batch
+	 *            The batch method
+	 */
+	static void assertBatchRangeChecked(final Batch batch) {
+		try {
+			batch.getCO2e(WEIGHTS, DISTANCES, new double[WEIGHTS.length - 1], 1, WEIGHTS.length - 1);
+			fail("Range exceeding the result array accepted");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	private static void assertRelative(final double[] expected, final double[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], actual[i], 1e-12 * expected[i]);
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package org.eaticious.greenlicious.calc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eaticious.common.FoodProduct;
+import org.eaticious.common.FoodProduct.TransportClass;
+import org.eaticious.common.FoodProductStub;
+import org.eaticious.common.ImmutableQuantity;
+import org.eaticious.common.QuantityImpl;
+import org.eaticious.common.Region;
+import org.eaticious.common.RegionStub;
+import org.eaticious.common.Unit;
+import org.eaticious.common.co2e.transport.CargoShip;
+import org.eaticious.common.co2e.transport.CargoShip.ShippingRoute;
+import org.eaticious.common.co2e.transport.SegmentContext;
+import org.eaticious.common.co2e.transport.Truck;
+import org.eaticious.common.co2e.transport.TruckSpecification.TruckModel;
+import org.eaticious.common.co2e.transport.Vessel;
+import org.junit.Test;
+
+public class RouteCompilerTest {
+
+	private static final Truck TRUCK = new Truck(TruckModel.TR_40000);
+
+	private static final CargoShip SHIP = new CargoShip();
+
+	private static RouteSegment road(final double km) {
+		return new RouteSegment() {
+
+			@Override
+			public Vessel getVessel() {
+				return TRUCK;
+			}
+
+			@Override
+			public void fillContext(SegmentContext context) {
+				context.setDistance(km);
+				context.setLoadFactor(0.8);
+				context.setEmptyTripFactor(0.4);
+			}
+		};
+	}
+
+	private static RouteSegment sea(final double km) {
+		return new RouteSegment() {
+
+			@Override
+			public Vessel getVessel() {
+				return SHIP;
+			}
+
+			@Override
+			public void fillContext(SegmentContext context) {
+				context.setDistance(km);
+				context.setShippingRoute(ShippingRoute.SUEZ);
+			}
+		};
+	}
+
+	private static Route route(final RouteSegment... segments) {
+		return new Route() {
+
+			@Override
+			public List<RouteSegment> getSegments() {
+				return Arrays.asList(segments);
+			}
+		};
+	}
+
+	private static class CountingRouteManager implements RouteManager {
+
+		private int calls;
+
+		@Override
+		public Route getRoute(FoodProduct product, Region producer, Region consumer) {
+			this.calls++;
+			return route(road(120d), sea(15000d), road(640d));
+		}
+	}
+
+	@Test
+	public void testCompile() {
+		CompiledRoute compiled = RouteCompiler.compile(route(road(120d), sea(15000d), road(640d)),
+				TransportClass.AVERAGE);
+		double road = TRUCK.co2eKg(1d, 760d, 0.8, 0.4);
+		double sea = SHIP.co2eKg(1d, 15000d, TransportClass.AVERAGE, ShippingRoute.SUEZ);
+		assertEquals(road + sea, compiled.getCoefficient(), (road + sea) * 1e-12);
+		assertEquals(road, compiled.getBreakdown().get(Truck.class), road * 1e-12);
+		assertEquals(sea, compiled.getBreakdown().get(CargoShip.class), sea * 1e-12);
+		assertEquals(2, compiled.getBreakdown().size());
+		assertEquals((road + sea) * 753d, compiled.co2eKg(753d), (road + sea) * 753d * 1e-12);
+		assertEquals(compiled.co2eKg(753d), compiled.getCO2e(new QuantityImpl(0.753, Unit.TON)).getAmount(),
+				compiled.co2eKg(753d) * 1e-12);
+		assertTrue(compiled.getCO2e(new QuantityImpl(753d, Unit.KILOGRAM)) instanceof ImmutableQuantity);
+	}
+
+	@Test
+	public void testEmptyRoute() {
+		CompiledRoute compiled = RouteCompiler.compile(route(), TransportClass.BULK);
+		assertEquals(0d, compiled.getCoefficient(), 0d);
+		assertTrue(compiled.getBreakdown().isEmpty());
+	}
+
+	@Test
+	public void testCache() {
+		CountingRouteManager manager = new CountingRouteManager();
+		RouteCompiler compiler = new RouteCompiler(manager);
+		FoodProduct product = new FoodProductStub("Rice", TransportClass.AVERAGE);
+		Region producer = new RegionStub("Thailand");
+		Region consumer = new RegionStub("Switzerland");
+		CompiledRoute compiled = compiler.getCompiledRoute(product, producer, consumer);
+		assertSame(compiled, compiler.getCompiledRoute(new FoodProductStub("Quinoa", TransportClass.AVERAGE),
+				producer, consumer));
+		assertEquals(1, manager.calls);
+		CompiledRoute bulk = compiler.getCompiledRoute(new FoodProductStub("Beans", TransportClass.BULK), producer,
+				consumer);
+		assertNotSame(compiled, bulk);
+		assertEquals(2, manager.calls);
+		assertSame(bulk, compiler.getCompiledRoute(new FoodProductStub("Lentils", TransportClass.BULK), producer,
+				consumer));
+		assertEquals(2, manager.calls);
+		compiler.getCompiledRoute(product, consumer, producer);
+		assertEquals(3, manager.calls);
+		compiler.invalidate(producer);
+		assertNotSame(compiled, compiler.getCompiledRoute(product, producer, consumer));
+		assertEquals(4, manager.calls);
+		compiler.clear();
+		compiler.getCompiledRoute(product, producer, consumer);
+		assertEquals(5, manager.calls);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testNoRoute() {
+		new RouteCompiler(new RouteManagerImpl()).getCompiledRoute(new FoodProductStub("Rice"), new RegionStub(
+				"Thailand"), new RegionStub("Switzerland"));
+	}
+
+}